@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * State store with one list of booleans per state, as SwipeListViewTouchListener kept them before
+ * PositionSwipeStateStore. Only used as the baseline of the benchmarks.
+ */
+class ListSwipeStateStore implements SwipeStateStore {
+
+    private final List<Boolean> opened = new ArrayList<Boolean>();
+    private final List<Boolean> openedRight = new ArrayList<Boolean>();
+    private final List<Boolean> checked = new ArrayList<Boolean>();
+
+    @Override
+    public boolean isOpened(int position) {
+        return opened.get(position);
+    }
+
+    @Override
+    public boolean isOpenedRight(int position) {
+        return openedRight.get(position);
+    }
+
+    @Override
+    public void setOpened(int position, boolean opened) {
+        this.opened.set(position, opened);
+    }
+
+    @Override
+    public void setOpenedRight(int position, boolean right) {
+        openedRight.set(position, right);
+    }
+
+    @Override
+    public boolean isChecked(int position) {
+        return checked.get(position);
+    }
+
+    @Override
+    public void setChecked(int position, boolean checked) {
+        this.checked.set(position, checked);
+    }
+
+    @Override
+    public void setChecked(int fromPosition, int toPosition, boolean checked) {
+        for (int i = fromPosition; i < toPosition; i++) {
+            this.checked.set(i, checked);
+        }
+    }
+
+    @Override
+    public void invertChecked(int fromPosition, int toPosition) {
+        for (int i = fromPosition; i < toPosition; i++) {
+            checked.set(i, !checked.get(i));
+        }
+    }
+
+    @Override
+    public int getCheckedCount() {
+        int count = 0;
+        for (int i = 0; i < checked.size(); i++) {
+            if (checked.get(i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int nextChecked(int fromPosition) {
+        for (int i = Math.max(fromPosition, 0); i < checked.size(); i++) {
+            if (checked.get(i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int getOpenedCount() {
+        int count = 0;
+        for (int i = 0; i < opened.size(); i++) {
+            if (opened.get(i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int closeOpenedOutside(int fromPosition, int toPosition, int[] closedPositions) {
+        int closed = 0;
+        for (int i = 0; i < opened.size(); i++) {
+            if ((i < fromPosition || i > toPosition) && opened.get(i)) {
+                opened.set(i, false);
+                closedPositions[closed++] = i;
+            }
+        }
+        return closed;
+    }
+
+    @Override
+    public void insert(int position, int count) {
+        for (int i = 0; i < count; i++) {
+            opened.add(position, false);
+            openedRight.add(position, false);
+            checked.add(position, false);
+        }
+    }
+
+    @Override
+    public void remove(int position, int count) {
+        for (int i = 0; i < count; i++) {
+            opened.remove(position);
+            openedRight.remove(position);
+            checked.remove(position);
+        }
+    }
+
+    @Override
+    public void move(int fromPosition, int toPosition) {
+        opened.add(toPosition, opened.remove(fromPosition));
+        openedRight.add(toPosition, openedRight.remove(fromPosition));
+        checked.add(toPosition, checked.remove(fromPosition));
+    }
+
+    @Override
+    public void setCount(int count) {
+        for (int i = opened.size(); i <= count; i++) {
+            opened.add(false);
+            openedRight.add(false);
+            checked.add(false);
+        }
+    }
+
+    @Override
+    public void clear() {
+        opened.clear();
+        openedRight.clear();
+        checked.clear();
+    }
+
+}
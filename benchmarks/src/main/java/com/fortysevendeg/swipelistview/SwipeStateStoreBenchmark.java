@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * State operations SwipeListViewTouchListener runs on gestures, adapter changes and selections,
+ * on the position store and on the list based store it replaced.
+ * <p/>
+ * Every 8th row is checked and every 16th row is opened.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SwipeStateStoreBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int rows;
+
+    @Param({"position", "list"})
+    String store;
+
+    private SwipeStateStore states;
+    private int[] positions;
+    private int toggle;
+
+    @Setup
+    public void setUp() {
+        states = newStore();
+        fill(states);
+        positions = new int[rows];
+    }
+
+    private SwipeStateStore newStore() {
+        return "list".equals(store) ? new ListSwipeStateStore() : new PositionSwipeStateStore();
+    }
+
+    private void fill(SwipeStateStore states) {
+        states.setCount(rows);
+        for (int i = 0; i < rows; i += 8) {
+            states.setChecked(i, true);
+        }
+        for (int i = 0; i < rows; i += 16) {
+            states.setOpened(i, true);
+            states.setOpenedRight(i, (i & 16) != 0);
+        }
+    }
+
+    /**
+     * resetItems on an adapter that grew from empty to all the rows
+     */
+    @Benchmark
+    public SwipeStateStore resetItemsGrowth() {
+        SwipeStateStore states = newStore();
+        states.setCount(rows);
+        return states;
+    }
+
+    /**
+     * Open or close one row, as a reveal animation ends
+     */
+    @Benchmark
+    public boolean toggleOpened() {
+        int position = toggle;
+        toggle = (toggle + 7919) % rows;
+        boolean opened = !states.isOpened(position);
+        states.setOpened(position, opened);
+        states.setOpenedRight(position, opened);
+        return opened;
+    }
+
+    /**
+     * getCountSelected
+     */
+    @Benchmark
+    public int selectionCount() {
+        return states.getCheckedCount();
+    }
+
+    /**
+     * getPositionsSelected, into an array allocated once
+     */
+    @Benchmark
+    public int positionsSelected() {
+        int count = 0;
+        for (int i = states.nextChecked(0); i >= 0; i = states.nextChecked(i + 1)) {
+            positions[count++] = i;
+        }
+        return count;
+    }
+
+    /**
+     * Dismiss a row in the middle of the list, shifting the state of the rows below, then insert it back
+     * so every invocation runs on the same list
+     */
+    @Benchmark
+    public boolean dismissWithShift() {
+        int position = rows / 2;
+        boolean checked = states.isChecked(position);
+        states.remove(position, 1);
+        states.insert(position, 1);
+        states.setChecked(position, checked);
+        return checked;
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+import android.view.MotionEvent;
+
+/**
+ * A recorded single pointer touch sequence, one or more strokes with their times.
+ * <p/>
+ * The MotionEvents are obtained before a replay starts, so only the list's own allocations are counted.
+ */
+class Gesture {
+
+    private static final int CAPACITY = 256;
+
+    final String name;
+
+    private final int[] actions = new int[CAPACITY];
+    private final float[] xs = new float[CAPACITY];
+    private final float[] ys = new float[CAPACITY];
+    private final long[] times = new long[CAPACITY];
+    private int size;
+    private long time;
+    private float x;
+    private float y;
+
+    Gesture(String name) {
+        this.name = name;
+    }
+
+    Gesture down(float x, float y) {
+        this.x = x;
+        this.y = y;
+        return add(MotionEvent.ACTION_DOWN);
+    }
+
+    /**
+     * Moves the pointer in equal steps, one event per step
+     */
+    Gesture moveTo(float toX, float toY, int steps, long stepMillis) {
+        float fromX = x;
+        float fromY = y;
+        for (int i = 1; i <= steps; i++) {
+            time += stepMillis;
+            x = fromX + (toX - fromX) * i / steps;
+            y = fromY + (toY - fromY) * i / steps;
+            add(MotionEvent.ACTION_MOVE);
+        }
+        return this;
+    }
+
+    Gesture up(long afterMillis) {
+        time += afterMillis;
+        return add(MotionEvent.ACTION_UP);
+    }
+
+    Gesture cancel(long afterMillis) {
+        time += afterMillis;
+        return add(MotionEvent.ACTION_CANCEL);
+    }
+
+    Gesture pause(long millis) {
+        time += millis;
+        return this;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Time of an event from the start of the gesture
+     */
+    long timeAt(int index) {
+        return times[index];
+    }
+
+    /**
+     * @param uptimeMillis Uptime at which the gesture starts
+     */
+    MotionEvent[] obtain(long uptimeMillis) {
+        MotionEvent[] events = new MotionEvent[size];
+        long downTime = uptimeMillis;
+        for (int i = 0; i < size; i++) {
+            long eventTime = uptimeMillis + times[i];
+            if (actions[i] == MotionEvent.ACTION_DOWN) {
+                downTime = eventTime;
+            }
+            events[i] = MotionEvent.obtain(downTime, eventTime, actions[i], xs[i], ys[i], 0);
+        }
+        return events;
+    }
+
+    private Gesture add(int action) {
+        actions[size] = action;
+        xs[size] = x;
+        ys[size] = y;
+        times[size] = time;
+        size++;
+        return this;
+    }
+
+}
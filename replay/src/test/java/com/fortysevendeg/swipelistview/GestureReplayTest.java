@@ -0,0 +1,311 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+import android.app.Activity;
+import android.content.Context;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.AbsListView;
+import android.widget.BaseAdapter;
+import android.widget.FrameLayout;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Replays recorded gestures through a real SwipeListView and reports, per gesture, the wall time and the bytes
+ * allocated in onInterceptTouchEvent and in SwipeListViewTouchListener.onTouch.
+ * <p/>
+ * Runs on the JVM under Robolectric: ./gradlew :replay:test. The clock and the main looper advance one frame
+ * between events, so animations and frame callbacks run as they would on a device. The numbers are JVM numbers,
+ * they are meant to be compared between builds of the library, not with devices.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 19, shadows = {ReplayShadowMotionEvent.class, ReplayShadowVelocityTracker.class,
+        ReplayShadowChoreographer.class})
+public class GestureReplayTest {
+
+    private static final int FRONT_VIEW = 1;
+    private static final int BACK_VIEW = 2;
+    private static final int WIDTH = 480;
+    private static final int HEIGHT = 800;
+    private static final int ROW_HEIGHT = 60;
+    private static final int ITEMS = 1000;
+    private static final int WARMUP = 20;
+    private static final int REPLAYS = 50;
+    private static final long FRAME_MILLIS = 16;
+    private static final long SETTLE_MILLIS = 1000;
+
+    private ReplaySwipeListView swipeListView;
+    private ReplayAdapter adapter;
+    private ReplayListener listener;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.setupActivity(Activity.class);
+        // Posted work runs when the clock reaches it, as on a device, not as soon as it is posted
+        ShadowLooper.pauseMainLooper();
+        swipeListView = new ReplaySwipeListView(activity, BACK_VIEW, FRONT_VIEW);
+        adapter = new ReplayAdapter(activity, swipeListView, ITEMS);
+        listener = new ReplayListener(adapter);
+        swipeListView.setSwipeListViewListener(listener);
+        swipeListView.setAdapter(adapter);
+        activity.setContentView(swipeListView, new ViewGroup.LayoutParams(WIDTH, HEIGHT));
+        layout();
+    }
+
+    @After
+    public void tearDown() {
+        SwipeListView.setTraceEnabled(false);
+    }
+
+    @Test
+    public void slowDrag() {
+        Gesture gesture = new Gesture("slow drag")
+                .down(40, rowY(1))
+                .moveTo(360, rowY(1), 40, FRAME_MILLIS)
+                .up(FRAME_MILLIS);
+        replay(gesture, new AfterReplay() {
+            @Override
+            public void check(int replay) {
+                assertEquals(replay + 1, listener.opened);
+                swipeListView.closeAnimate(1);
+                settle();
+            }
+        });
+    }
+
+    @Test
+    public void fling() {
+        Gesture gesture = new Gesture("fling")
+                .down(40, rowY(2))
+                .moveTo(136, rowY(2), 4, FRAME_MILLIS / 2)
+                .up(FRAME_MILLIS / 2);
+        replay(gesture, new AfterReplay() {
+            @Override
+            public void check(int replay) {
+                assertEquals(replay + 1, listener.opened);
+                swipeListView.closeAnimate(2);
+                settle();
+            }
+        });
+    }
+
+    @Test
+    public void cancel() {
+        Gesture gesture = new Gesture("cancel")
+                .down(40, rowY(3))
+                .moveTo(200, rowY(3), 10, FRAME_MILLIS)
+                .cancel(FRAME_MILLIS);
+        replay(gesture, new AfterReplay() {
+            @Override
+            public void check(int replay) {
+                assertEquals(0, listener.opened);
+                assertEquals(0f, frontView(3).getTranslationX(), 0f);
+            }
+        });
+    }
+
+    @Test
+    public void multiRowDismiss() {
+        swipeListView.setSwipeActionLeft(SwipeListView.SWIPE_ACTION_DISMISS);
+        Gesture gesture = new Gesture("multi-row dismiss");
+        for (int row = 1; row <= 3; row++) {
+            gesture.down(440, rowY(row))
+                    .moveTo(40, rowY(row), 5, FRAME_MILLIS)
+                    .up(FRAME_MILLIS)
+                    .pause(FRAME_MILLIS);
+        }
+        replay(gesture, new AfterReplay() {
+            @Override
+            public void check(int replay) {
+                assertEquals(3 * (replay + 1), listener.dismissed);
+                assertEquals(ITEMS - 3 * (replay + 1), adapter.getCount());
+            }
+        });
+    }
+
+    @Test
+    public void choiceToggling() {
+        swipeListView.setSwipeActionRight(SwipeListView.SWIPE_ACTION_CHOICE);
+        Gesture gesture = new Gesture("choice toggling");
+        for (int row = 1; row <= 3; row++) {
+            gesture.down(40, rowY(row))
+                    .moveTo(160, rowY(row), 6, FRAME_MILLIS)
+                    .up(FRAME_MILLIS)
+                    .pause(FRAME_MILLIS);
+        }
+        replay(gesture, new AfterReplay() {
+            @Override
+            public void check(int replay) {
+                assertEquals(replay % 2 == 0 ? 3 : 0, swipeListView.getCountSelected());
+                assertFalse(listener.opened > 0);
+            }
+        });
+    }
+
+    /**
+     * Replays the gesture WARMUP times, then REPLAYS times with the costs counted, and prints the costs
+     */
+    private void replay(Gesture gesture, AfterReplay afterReplay) {
+        for (int i = 0; i < WARMUP + REPLAYS; i++) {
+            if (i == WARMUP) {
+                swipeListView.resetCosts();
+            }
+            MotionEvent[] events = gesture.obtain(SystemClock.uptimeMillis());
+            long start = SystemClock.uptimeMillis();
+            for (int j = 0; j < events.length; j++) {
+                ShadowLooper.idleMainLooper(start + gesture.timeAt(j) - SystemClock.uptimeMillis());
+                swipeListView.dispatchTouchEvent(events[j]);
+            }
+            for (MotionEvent event : events) {
+                event.recycle();
+            }
+            settle();
+            afterReplay.check(i);
+        }
+        report(gesture);
+    }
+
+    private void report(Gesture gesture) {
+        TouchCost intercept = swipeListView.intercept;
+        TouchCost touch = swipeListView.touch;
+        System.out.println(String.format("%-18s %4d events | onInterceptTouchEvent %4d calls %9.1f us %8d B"
+                        + " | onTouch %4d calls %9.1f us %8d B | per gesture",
+                gesture.name, gesture.size(),
+                intercept.getCalls() / REPLAYS, intercept.getNanos() / 1000.0 / REPLAYS, intercept.getBytes() / REPLAYS,
+                touch.getCalls() / REPLAYS, touch.getNanos() / 1000.0 / REPLAYS, touch.getBytes() / REPLAYS));
+    }
+
+    /**
+     * Runs the animations and the frame callbacks left by a gesture to their end, then lays the list out again
+     */
+    private void settle() {
+        ShadowLooper.idleMainLooper(SETTLE_MILLIS);
+        layout();
+    }
+
+    private void layout() {
+        swipeListView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        swipeListView.layout(0, 0, WIDTH, HEIGHT);
+    }
+
+    private View frontView(int position) {
+        return swipeListView.getChildAt(position - swipeListView.getFirstVisiblePosition()).findViewById(FRONT_VIEW);
+    }
+
+    private float rowY(int position) {
+        View row = swipeListView.getChildAt(position - swipeListView.getFirstVisiblePosition());
+        return (row.getTop() + row.getBottom()) / 2;
+    }
+
+    private interface AfterReplay {
+
+        void check(int replay);
+
+    }
+
+    private static class ReplayAdapter extends BaseAdapter {
+
+        private final Context context;
+        private final SwipeListView swipeListView;
+        private int count;
+
+        ReplayAdapter(Context context, SwipeListView swipeListView, int count) {
+            this.context = context;
+            this.swipeListView = swipeListView;
+            this.count = count;
+        }
+
+        void remove(int items) {
+            count -= items;
+            notifyDataSetChanged();
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public Object getItem(int position) {
+            return position;
+        }
+
+        @Override
+        public long getItemId(int position) {
+            return position;
+        }
+
+        @Override
+        public View getView(int position, View convertView, ViewGroup parent) {
+            View row = convertView;
+            if (row == null) {
+                FrameLayout frame = new FrameLayout(context);
+                frame.setLayoutParams(new AbsListView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ROW_HEIGHT));
+                View back = new View(context);
+                back.setId(BACK_VIEW);
+                frame.addView(back, new FrameLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ROW_HEIGHT));
+                View front = new View(context);
+                front.setId(FRONT_VIEW);
+                frame.addView(front, new FrameLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ROW_HEIGHT));
+                row = frame;
+            }
+            swipeListView.recycle(row, position);
+            return row;
+        }
+
+    }
+
+    private static class ReplayListener extends BaseSwipeListViewListener {
+
+        private final ReplayAdapter adapter;
+        int opened;
+        int dismissed;
+
+        ReplayListener(ReplayAdapter adapter) {
+            this.adapter = adapter;
+        }
+
+        @Override
+        public void onOpened(int position, boolean toRight) {
+            opened++;
+        }
+
+        @Override
+        public void onDismiss(int[] reverseSortedPositions) {
+            dismissed += reverseSortedPositions.length;
+            adapter.remove(reverseSortedPositions.length);
+        }
+
+    }
+
+}
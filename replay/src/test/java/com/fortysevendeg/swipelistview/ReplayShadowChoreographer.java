@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.Choreographer;
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+import org.robolectric.shadows.ShadowChoreographer;
+
+/**
+ * Frame callbacks on a 16 ms vsync of the uptime clock, with the frame time in that clock.
+ * Robolectric 3.0 runs a frame callback posted from a frame right away, with a frame time that only counts calls,
+ * so animations driven by frame callbacks would end within a single step of the looper.
+ */
+@Implements(Choreographer.class)
+public class ReplayShadowChoreographer extends ShadowChoreographer {
+
+    static final long FRAME_MILLIS = 16;
+
+    private final Handler frameHandler = new Handler(Looper.myLooper());
+
+    @Implementation
+    public void postFrameCallbackDelayed(final Choreographer.FrameCallback callback, long delayMillis) {
+        final long frameTime = (SystemClock.uptimeMillis() + delayMillis) / FRAME_MILLIS * FRAME_MILLIS + FRAME_MILLIS;
+        frameHandler.postAtTime(new Runnable() {
+            @Override
+            public void run() {
+                callback.doFrame(frameTime * 1000000);
+            }
+        }, callback, frameTime);
+    }
+
+    @Implementation
+    public void removeFrameCallback(Choreographer.FrameCallback callback) {
+        frameHandler.removeCallbacksAndMessages(callback);
+    }
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+import android.view.MotionEvent;
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+import org.robolectric.shadows.ShadowMotionEvent;
+
+/**
+ * Robolectric 3.0 leaves offsetLocation out of its MotionEvent, so every child would get the event in the list's
+ * coordinates. Rows below the first one would miss their front views, and the list would handle the down events
+ * the rows handle on a device.
+ */
+@Implements(MotionEvent.class)
+public class ReplayShadowMotionEvent extends ShadowMotionEvent {
+
+    @Implementation
+    public final void offsetLocation(float deltaX, float deltaY) {
+        setLocation(getX() + deltaX, getY() + deltaY);
+    }
+
+}
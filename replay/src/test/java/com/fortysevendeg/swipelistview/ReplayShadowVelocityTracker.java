@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+
+/**
+ * VelocityTracker from the samples of the last 100 ms, as the platform's tracker uses.
+ * Robolectric 3.0's tracker gives wrong velocities once trackers are reused from the pool, so flings
+ * would depend on the gestures replayed before.
+ */
+@Implements(VelocityTracker.class)
+public class ReplayShadowVelocityTracker {
+
+    private static final long HORIZON_MILLIS = 100;
+    private static final int HISTORY = 32;
+
+    private final float[] xs = new float[HISTORY];
+    private final float[] ys = new float[HISTORY];
+    private final long[] times = new long[HISTORY];
+    private int size;
+    private int last = -1;
+    private float velocityX;
+    private float velocityY;
+
+    @Implementation
+    public void clear() {
+        size = 0;
+        last = -1;
+        velocityX = 0;
+        velocityY = 0;
+    }
+
+    @Implementation
+    public void addMovement(MotionEvent event) {
+        if (event.getActionMasked() == MotionEvent.ACTION_DOWN) {
+            clear();
+        }
+        last = (last + 1) % HISTORY;
+        xs[last] = event.getX();
+        ys[last] = event.getY();
+        times[last] = event.getEventTime();
+        size = Math.min(size + 1, HISTORY);
+    }
+
+    @Implementation
+    public void computeCurrentVelocity(int units) {
+        computeCurrentVelocity(units, Float.MAX_VALUE);
+    }
+
+    @Implementation
+    public void computeCurrentVelocity(int units, float maxVelocity) {
+        velocityX = 0;
+        velocityY = 0;
+        if (size < 2) {
+            return;
+        }
+        int oldest = last;
+        for (int i = 1; i < size; i++) {
+            int index = (last - i + HISTORY) % HISTORY;
+            if (times[last] - times[index] > HORIZON_MILLIS) {
+                break;
+            }
+            oldest = index;
+        }
+        long duration = times[last] - times[oldest];
+        if (duration > 0) {
+            velocityX = clamp((xs[last] - xs[oldest]) * units / duration, maxVelocity);
+            velocityY = clamp((ys[last] - ys[oldest]) * units / duration, maxVelocity);
+        }
+    }
+
+    @Implementation
+    public float getXVelocity() {
+        return velocityX;
+    }
+
+    @Implementation
+    public float getYVelocity() {
+        return velocityY;
+    }
+
+    @Implementation
+    public float getXVelocity(int id) {
+        return velocityX;
+    }
+
+    @Implementation
+    public float getYVelocity(int id) {
+        return velocityY;
+    }
+
+    private static float clamp(float velocity, float maxVelocity) {
+        return Math.max(-maxVelocity, Math.min(velocity, maxVelocity));
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+import android.content.Context;
+import android.view.MotionEvent;
+import android.view.View;
+
+/**
+ * SwipeListView that measures its touch entry points while gestures are replayed
+ */
+class ReplaySwipeListView extends SwipeListView {
+
+    /**
+     * onInterceptTouchEvent, which also hands down and up events to the touch listener
+     */
+    final TouchCost intercept = new TouchCost();
+
+    /**
+     * SwipeListViewTouchListener.onTouch for the events the list receives itself.
+     * Assigned while the super constructor sets the listener, so it has no initializer.
+     */
+    TouchCost touch;
+
+    ReplaySwipeListView(Context context, int swipeBackView, int swipeFrontView) {
+        super(context, swipeBackView, swipeFrontView);
+    }
+
+    @Override
+    public boolean onInterceptTouchEvent(MotionEvent ev) {
+        intercept.begin();
+        try {
+            return super.onInterceptTouchEvent(ev);
+        } finally {
+            intercept.end();
+        }
+    }
+
+    @Override
+    public void setOnTouchListener(final OnTouchListener listener) {
+        final TouchCost cost = new TouchCost();
+        touch = cost;
+        super.setOnTouchListener(new OnTouchListener() {
+            @Override
+            public boolean onTouch(View view, MotionEvent event) {
+                cost.begin();
+                try {
+                    return listener.onTouch(view, event);
+                } finally {
+                    cost.end();
+                }
+            }
+        });
+    }
+
+    void resetCosts() {
+        intercept.reset();
+        touch.reset();
+    }
+
+}
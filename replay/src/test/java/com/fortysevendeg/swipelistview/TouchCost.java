@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Wall time and bytes allocated by the calls made to one touch entry point
+ */
+class TouchCost {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * Bytes the allocation counter itself allocates between a begin and an end
+     */
+    private static final long COUNTER_BYTES = measureCounterBytes();
+
+    private long startNanos;
+    private long startBytes;
+    private long nanos;
+    private long bytes;
+    private int calls;
+
+    void begin() {
+        startBytes = allocatedBytes();
+        startNanos = System.nanoTime();
+    }
+
+    void end() {
+        nanos += System.nanoTime() - startNanos;
+        bytes += Math.max(0, allocatedBytes() - startBytes - COUNTER_BYTES);
+        calls++;
+    }
+
+    void reset() {
+        nanos = 0;
+        bytes = 0;
+        calls = 0;
+    }
+
+    long getNanos() {
+        return nanos;
+    }
+
+    long getBytes() {
+        return bytes;
+    }
+
+    int getCalls() {
+        return calls;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static long measureCounterBytes() {
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < 10000; i++) {
+            long start = allocatedBytes();
+            min = Math.min(min, allocatedBytes() - start);
+        }
+        return min;
+    }
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+import android.content.Context;
+import android.graphics.PixelFormat;
+import android.os.Build;
+import android.os.Debug;
+import android.os.SystemClock;
+import android.test.InstrumentationTestCase;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.WindowManager;
+import android.widget.AbsListView;
+import android.widget.BaseAdapter;
+import android.widget.FrameLayout;
+
+/**
+ * Checks that binding rows again, as the ListView does while scrolling, and swiping a row allocate nothing
+ */
+public class SwipeListViewAllocationTest extends InstrumentationTestCase {
+
+    private static final int FRONT_VIEW = 1;
+    private static final int BACK_VIEW = 2;
+    private static final int ROWS = 8;
+    private static final int BINDS = 1000;
+    private static final int ITEMS = 20;
+    private static final int ROW_HEIGHT = 100;
+    private static final int MOVES = 10;
+    private static final int RESTS = 8;
+    private static final int FRAME_MILLIS = 16;
+    private static final int WARMUP_SWIPES = 2;
+
+    private Context context;
+    private WindowManager windowManager;
+    private SwipeListView swipeListView;
+    private boolean attached;
+    private View[] rows;
+    private long swipeAllocations;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        context = getInstrumentation().getTargetContext();
+        windowManager = (WindowManager) context.getSystemService(Context.WINDOW_SERVICE);
+        // The list takes the Choreographer of the thread it's created on
+        getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                swipeListView = new SwipeListView(context, BACK_VIEW, FRONT_VIEW);
+            }
+        });
+        rows = new View[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            rows[i] = createRow();
+        }
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        if (attached) {
+            getInstrumentation().runOnMainSync(new Runnable() {
+                @Override
+                public void run() {
+                    windowManager.removeView(swipeListView);
+                }
+            });
+            attached = false;
+        }
+        super.tearDown();
+    }
+
+    public void testRecycleWiresListenersOnce() {
+        for (int i = 0; i < ROWS; i++) {
+            swipeListView.recycle(rows[i], i);
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH_MR1) {
+            for (View row : rows) {
+                assertTrue(row.findViewById(FRONT_VIEW).hasOnClickListeners());
+                assertTrue(row.findViewById(BACK_VIEW).hasOnClickListeners());
+            }
+        }
+    }
+
+    public void testRecycleDoesNotAllocate() {
+        // First binds create the row holders and wire the shared listeners
+        for (int i = 0; i < ROWS; i++) {
+            swipeListView.recycle(rows[i], i);
+        }
+
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+        for (int i = 0; i < BINDS; i++) {
+            swipeListView.recycle(rows[i % ROWS], i);
+        }
+        Debug.stopAllocCounting();
+
+        assertEquals(0, Debug.getThreadAllocCount());
+    }
+
+    /**
+     * A full swipe, from the down to the animation started at the up, goes through onTouch without allocating.
+     * The finger rests before lifting, so the row goes back closed and every swipe is the same.
+     */
+    public void testSwipeDoesNotAllocate() {
+        attach();
+        final MotionEvent[] swipe = obtainSwipe();
+        getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                // Fill the listener and tracker pools and create the row animator
+                for (int i = 0; i < WARMUP_SWIPES; i++) {
+                    dispatch(swipe);
+                }
+
+                Debug.resetThreadAllocCount();
+                Debug.startAllocCounting();
+                dispatch(swipe);
+                Debug.stopAllocCounting();
+                swipeAllocations = Debug.getThreadAllocCount();
+            }
+        });
+        for (MotionEvent event : swipe) {
+            event.recycle();
+        }
+
+        assertEquals(0, swipeAllocations);
+    }
+
+    /**
+     * Show the list in a window of its own, so posts from its views go to the handler of the window
+     * instead of allocating in the queue of detached views
+     */
+    private void attach() {
+        getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                swipeListView.setAdapter(new RowAdapter());
+                WindowManager.LayoutParams params = new WindowManager.LayoutParams(
+                        WindowManager.LayoutParams.MATCH_PARENT, WindowManager.LayoutParams.MATCH_PARENT,
+                        WindowManager.LayoutParams.TYPE_TOAST,
+                        WindowManager.LayoutParams.FLAG_NOT_FOCUSABLE | WindowManager.LayoutParams.FLAG_NOT_TOUCHABLE,
+                        PixelFormat.TRANSLUCENT);
+                windowManager.addView(swipeListView, params);
+                attached = true;
+            }
+        });
+        getInstrumentation().waitForIdleSync();
+        assertTrue(swipeListView.getChildCount() > 1);
+    }
+
+    /**
+     * Swipe the second row right for a quarter of the list width, then rest until the velocity is gone
+     */
+    private MotionEvent[] obtainSwipe() {
+        View row = swipeListView.getChildAt(1);
+        float x = swipeListView.getWidth() / 8;
+        float y = (row.getTop() + row.getBottom()) / 2;
+        float distance = swipeListView.getWidth() / 4;
+        long downTime = SystemClock.uptimeMillis();
+        MotionEvent[] swipe = new MotionEvent[MOVES + RESTS + 2];
+        int i = 0;
+        swipe[i++] = MotionEvent.obtain(downTime, downTime, MotionEvent.ACTION_DOWN, x, y, 0);
+        for (int move = 1; move <= MOVES; move++) {
+            swipe[i] = MotionEvent.obtain(downTime, downTime + i * FRAME_MILLIS, MotionEvent.ACTION_MOVE,
+                    x + distance * move / MOVES, y, 0);
+            i++;
+        }
+        for (int rest = 0; rest < RESTS; rest++) {
+            swipe[i] = MotionEvent.obtain(downTime, downTime + i * FRAME_MILLIS, MotionEvent.ACTION_MOVE,
+                    x + distance, y, 0);
+            i++;
+        }
+        swipe[i] = MotionEvent.obtain(downTime, downTime + i * FRAME_MILLIS, MotionEvent.ACTION_UP, x + distance, y, 0);
+        return swipe;
+    }
+
+    private void dispatch(MotionEvent[] swipe) {
+        for (MotionEvent event : swipe) {
+            swipeListView.dispatchTouchEvent(event);
+        }
+    }
+
+    private View createRow() {
+        FrameLayout row = new FrameLayout(context);
+        View back = new View(context);
+        back.setId(BACK_VIEW);
+        row.addView(back);
+        View front = new View(context);
+        front.setId(FRONT_VIEW);
+        row.addView(front);
+        return row;
+    }
+
+    private class RowAdapter extends BaseAdapter {
+
+        @Override
+        public int getCount() {
+            return ITEMS;
+        }
+
+        @Override
+        public Object getItem(int position) {
+            return position;
+        }
+
+        @Override
+        public long getItemId(int position) {
+            return position;
+        }
+
+        @Override
+        public View getView(int position, View convertView, ViewGroup parent) {
+            if (convertView == null) {
+                convertView = createRow();
+                convertView.setLayoutParams(
+                        new AbsListView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ROW_HEIGHT));
+            }
+            return convertView;
+        }
+
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+import android.os.Build;
+import android.view.View;
+
+/**
+ * Moves and animates rows.
+ * <p/>
+ * Uses the framework properties when available, so no proxy is looked up on each frame,
+ * and falls back to nineoldandroids in older versions. Animations run on the frame scheduler with a reusable
+ * animator per view, so they don't allocate.
+ */
+abstract class AnimationBackend {
+
+    private final FrameScheduler frameScheduler;
+
+    /**
+     * Work to do when a row animation ends or is cancelled
+     */
+    interface EndAction {
+
+        /**
+         * Called when the animation ends
+         */
+        void onAnimationEnd();
+
+    }
+
+    /**
+     * Constructor
+     *
+     * @param frameScheduler frame source of the animations
+     */
+    AnimationBackend(FrameScheduler frameScheduler) {
+        this.frameScheduler = frameScheduler;
+    }
+
+    /**
+     * Create the backend for this platform version
+     *
+     * @param frameScheduler frame source of the animations
+     * @return backend
+     */
+    static AnimationBackend create(FrameScheduler frameScheduler) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            return new NativeAnimationBackend(frameScheduler);
+        }
+        return new NineOldAndroidsAnimationBackend(frameScheduler);
+    }
+
+    /**
+     * @param view view
+     * @return left position of the view plus its translationX
+     */
+    abstract float getX(View view);
+
+    /**
+     * @param view view
+     * @return translationX of the view
+     */
+    abstract float getTranslationX(View view);
+
+    /**
+     * @param view view
+     * @return alpha of the view
+     */
+    abstract float getAlpha(View view);
+
+    /**
+     * @param view  view
+     * @param value new translationX
+     */
+    abstract void setTranslationX(View view, float value);
+
+    /**
+     * @param view  view
+     * @param value new translationY
+     */
+    abstract void setTranslationY(View view, float value);
+
+    /**
+     * @param view  view
+     * @param value new alpha
+     */
+    abstract void setAlpha(View view, float value);
+
+    /**
+     * Animate translationX
+     *
+     * @param view         view
+     * @param translationX final translationX
+     * @param duration     duration in ms
+     * @param endAction    called when the animation ends, also when a new animation of the view cancels it
+     */
+    void animate(View view, float translationX, long duration, EndAction endAction) {
+        animate(view, translationX, false, 0, duration, endAction);
+    }
+
+    /**
+     * Animate translationX and alpha
+     *
+     * @param view         view
+     * @param translationX final translationX
+     * @param alpha        final alpha
+     * @param duration     duration in ms
+     * @param endAction    called when the animation ends, also when a new animation of the view cancels it
+     */
+    void animate(View view, float translationX, float alpha, long duration, EndAction endAction) {
+        animate(view, translationX, true, alpha, duration, endAction);
+    }
+
+    private void animate(View view, float translationX, boolean fade, float alpha, long duration, EndAction endAction) {
+        RowSlideAnimator.of(view, frameScheduler, this).start(translationX, fade, alpha, duration, endAction);
+    }
+
+}
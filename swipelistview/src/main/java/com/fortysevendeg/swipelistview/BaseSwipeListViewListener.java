@@ -1,6 +1,6 @@
 package com.fortysevendeg.swipelistview;
 
-public class BaseSwipeListViewListener implements SwipeListViewListener {
+public class BaseSwipeListViewListener implements SwipeMoveProgressListener, SwipeChoicesChangedListener {
     @Override
     public void onOpened(int position, boolean toRight) {
     }
@@ -17,6 +17,10 @@ public class BaseSwipeListViewListener implements SwipeListViewListener {
     public void onMove(int position, float x) {
     }
 
+    @Override
+    public void onMoveProgress(int position, float x, float progress) {
+    }
+
     @Override
     public void onStartOpen(int position, int action, boolean right) {
     }
@@ -50,6 +54,10 @@ public class BaseSwipeListViewListener implements SwipeListViewListener {
     public void onChoiceStarted() {
     }
 
+    @Override
+    public void onChoicesChanged() {
+    }
+
     @Override
     public void onChoiceEnded() {
     }
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+/**
+ * Counts the frames rendered while it runs, and the frames that came late
+ */
+class FrameMonitor implements FrameScheduler.Callback {
+
+    private final FrameScheduler frameScheduler;
+    private long jankThresholdNanos;
+    private boolean running;
+    private long lastFrameNanos;
+    private int frames;
+    private int jankyFrames;
+
+    /**
+     * Constructor
+     *
+     * @param frameScheduler frame source
+     */
+    FrameMonitor(FrameScheduler frameScheduler) {
+        this.frameScheduler = frameScheduler;
+    }
+
+    /**
+     * Set the display refresh period. Frames further apart than one and a half periods are janky.
+     *
+     * @param refreshPeriodNanos refresh period
+     */
+    void setRefreshPeriod(long refreshPeriodNanos) {
+        jankThresholdNanos = refreshPeriodNanos * 3 / 2;
+    }
+
+    /**
+     * Start counting from zero. Does nothing if it is running.
+     */
+    void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        lastFrameNanos = -1;
+        frames = 0;
+        jankyFrames = 0;
+        frameScheduler.post(this);
+    }
+
+    /**
+     * Stop counting. The counts stay until the next start.
+     */
+    void stop() {
+        running = false;
+        frameScheduler.remove(this);
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    int getFrames() {
+        return frames;
+    }
+
+    int getJankyFrames() {
+        return jankyFrames;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        frames++;
+        if (lastFrameNanos >= 0 && frameTimeNanos - lastFrameNanos > jankThresholdNanos) {
+            jankyFrames++;
+        }
+        lastFrameNanos = frameTimeNanos;
+        frameScheduler.post(this);
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+import android.os.Build;
+import android.view.View;
+
+/**
+ * Runs callbacks on the next display frame.
+ * <p/>
+ * All callbacks posted for a frame share a single framework callback, so posting never allocates.
+ * Uses Choreographer when available and falls back to a delayed post on the view in older versions.
+ */
+abstract class FrameScheduler {
+
+    /**
+     * Work to do on a frame
+     */
+    interface Callback {
+
+        /**
+         * Called on the frame
+         *
+         * @param frameTimeNanos frame start time, in System.nanoTime() base
+         */
+        void doFrame(long frameTimeNanos);
+
+    }
+
+    private Callback[] callbacks = new Callback[4];
+    private Callback[] running = new Callback[4];
+    private int count;
+
+    /**
+     * Create the scheduler for this platform version
+     *
+     * @param view view used to post on older versions
+     * @return scheduler
+     */
+    static FrameScheduler create(View view) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            return new ChoreographerFrameScheduler();
+        }
+        return new HandlerFrameScheduler(view);
+    }
+
+    /**
+     * Run a callback on the next frame. Posting a callback already waiting does nothing.
+     *
+     * @param callback callback
+     */
+    void post(Callback callback) {
+        for (int i = 0; i < count; i++) {
+            if (callbacks[i] == callback) {
+                return;
+            }
+        }
+        if (count == callbacks.length) {
+            Callback[] grown = new Callback[count * 2];
+            System.arraycopy(callbacks, 0, grown, 0, count);
+            callbacks = grown;
+        }
+        callbacks[count++] = callback;
+        if (count == 1) {
+            schedule();
+        }
+    }
+
+    /**
+     * Remove a callback waiting for the next frame
+     *
+     * @param callback callback
+     */
+    void remove(Callback callback) {
+        for (int i = 0; i < count; i++) {
+            if (callbacks[i] == callback) {
+                System.arraycopy(callbacks, i + 1, callbacks, i, count - i - 1);
+                callbacks[--count] = null;
+                if (count == 0) {
+                    unschedule();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Run the callbacks of this frame. Callbacks posted while running wait for the next frame.
+     *
+     * @param frameTimeNanos frame time
+     */
+    protected void dispatch(long frameTimeNanos) {
+        Callback[] frame = callbacks;
+        int frameCount = count;
+        callbacks = running;
+        running = frame;
+        count = 0;
+        if (callbacks.length < frame.length) {
+            callbacks = new Callback[frame.length];
+        }
+        for (int i = 0; i < frameCount; i++) {
+            Callback callback = frame[i];
+            frame[i] = null;
+            callback.doFrame(frameTimeNanos);
+        }
+    }
+
+    /**
+     * Ask the platform for the next frame
+     */
+    protected abstract void schedule();
+
+    /**
+     * Cancel the request for the next frame
+     */
+    protected abstract void unschedule();
+
+}
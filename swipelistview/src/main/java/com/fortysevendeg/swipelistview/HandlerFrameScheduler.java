@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+import android.view.View;
+
+/**
+ * Frame scheduler for versions without Choreographer. Frames are approximated with delayed posts.
+ */
+class HandlerFrameScheduler extends FrameScheduler implements Runnable {
+
+    private static final long FRAME_DELAY = 16;
+
+    private final View view;
+
+    /**
+     * Constructor
+     *
+     * @param view view to post on
+     */
+    HandlerFrameScheduler(View view) {
+        this.view = view;
+    }
+
+    @Override
+    public void run() {
+        dispatch(System.nanoTime());
+    }
+
+    @Override
+    protected void schedule() {
+        view.postDelayed(this, FRAME_DELAY);
+    }
+
+    @Override
+    protected void unschedule() {
+        view.removeCallbacks(this);
+    }
+
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+/**
+ * Metrics sink that keeps the measures in memory, in histograms with power of two buckets, so they can be read
+ * and exported at any time. Listener callbacks get a histogram each, created the first time the callback is
+ * measured, and recording never allocates after that. Methods are synchronized, so the measures can be read
+ * from another thread.
+ */
+public class HistogramSwipeMetricsSink implements SwipeMetricsSink {
+
+    /**
+     * Histogram of durations. Bucket i counts the values below 2^i microseconds that don't fit in a lower bucket,
+     * the last bucket counts everything above.
+     */
+    public static class Histogram {
+
+        /**
+         * Number of buckets, the last one starting at about 4 seconds
+         */
+        public static final int BUCKET_COUNT = 24;
+
+        private final long[] buckets = new long[BUCKET_COUNT];
+        private long count;
+        private long sum;
+        private long max;
+
+        void record(long nanos) {
+            long micros = nanos / 1000;
+            int bucket = micros <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(micros);
+            buckets[Math.min(bucket, BUCKET_COUNT - 1)]++;
+            count++;
+            sum += nanos;
+            max = Math.max(max, nanos);
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                buckets[i] = 0;
+            }
+            count = 0;
+            sum = 0;
+            max = 0;
+        }
+
+        /**
+         * @param bucket bucket index
+         * @return number of values in the bucket
+         */
+        public long getBucketCount(int bucket) {
+            return buckets[bucket];
+        }
+
+        /**
+         * @param bucket bucket index
+         * @return upper bound of the bucket in nanoseconds, exclusive, or Long.MAX_VALUE for the last one
+         */
+        public static long getBucketUpperBound(int bucket) {
+            return bucket == BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << bucket) * 1000;
+        }
+
+        /**
+         * @return number of values recorded
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return sum of the values recorded, in nanoseconds
+         */
+        public long getSum() {
+            return sum;
+        }
+
+        /**
+         * @return highest value recorded, in nanoseconds
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Upper bound of the bucket where a percentile falls
+         *
+         * @param percentile from 0 to 100
+         * @return value in nanoseconds, 0 if nothing was recorded
+         */
+        public long getPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(count * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT - 1; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return Math.min(getBucketUpperBound(i), max);
+                }
+            }
+            return max;
+        }
+
+        private void copyTo(Histogram other) {
+            System.arraycopy(buckets, 0, other.buckets, 0, BUCKET_COUNT);
+            other.count = count;
+            other.sum = sum;
+            other.max = max;
+        }
+
+    }
+
+    private final Histogram swipeStartLatency = new Histogram();
+    private final Histogram dismissCollapse = new Histogram();
+    private final Histogram listenerCallbacks = new Histogram();
+    private String[] callbackNames = new String[8];
+    private Histogram[] callbackHistograms = new Histogram[8];
+    private int callbackCount;
+    private long swipeFrames;
+    private long swipeJankyFrames;
+    private long dismissFrames;
+    private long dismissJankyFrames;
+
+    @Override
+    public synchronized void onSwipeStartLatency(long nanos) {
+        swipeStartLatency.record(nanos);
+    }
+
+    @Override
+    public synchronized void onSwipeFrames(int frames, int jankyFrames) {
+        swipeFrames += frames;
+        swipeJankyFrames += jankyFrames;
+    }
+
+    @Override
+    public synchronized void onDismissCollapse(long nanos, int frames, int jankyFrames) {
+        dismissCollapse.record(nanos);
+        dismissFrames += frames;
+        dismissJankyFrames += jankyFrames;
+    }
+
+    @Override
+    public synchronized void onListenerCallback(String callback, long nanos) {
+        listenerCallbacks.record(nanos);
+        int index = indexOfCallback(callback);
+        if (index < 0) {
+            if (callbackCount == callbackNames.length) {
+                String[] grownNames = new String[callbackCount * 2];
+                System.arraycopy(callbackNames, 0, grownNames, 0, callbackCount);
+                callbackNames = grownNames;
+                Histogram[] grownHistograms = new Histogram[callbackCount * 2];
+                System.arraycopy(callbackHistograms, 0, grownHistograms, 0, callbackCount);
+                callbackHistograms = grownHistograms;
+            }
+            index = callbackCount++;
+            callbackNames[index] = callback;
+            callbackHistograms[index] = new Histogram();
+        }
+        callbackHistograms[index].record(nanos);
+    }
+
+    /**
+     * Copy the latency from ACTION_DOWN to the first move of the row
+     *
+     * @param out histogram that receives the values
+     */
+    public synchronized void getSwipeStartLatency(Histogram out) {
+        swipeStartLatency.copyTo(out);
+    }
+
+    /**
+     * Copy the durations of the dismiss collapses
+     *
+     * @param out histogram that receives the values
+     */
+    public synchronized void getDismissCollapse(Histogram out) {
+        dismissCollapse.copyTo(out);
+    }
+
+    /**
+     * Copy the time spent in the listener callbacks, all of them together
+     *
+     * @param out histogram that receives the values
+     */
+    public synchronized void getListenerCallbacks(Histogram out) {
+        listenerCallbacks.copyTo(out);
+    }
+
+    /**
+     * Copy the time spent in one listener callback. The histogram is left empty if the callback was never measured.
+     *
+     * @param callback name of the listener method, like "onMove"
+     * @param out      histogram that receives the values
+     */
+    public synchronized void getListenerCallback(String callback, Histogram out) {
+        int index = indexOfCallback(callback);
+        if (index >= 0) {
+            callbackHistograms[index].copyTo(out);
+        } else {
+            out.reset();
+        }
+    }
+
+    /**
+     * @return names of the listener callbacks measured so far
+     */
+    public synchronized String[] getListenerCallbackNames() {
+        String[] names = new String[callbackCount];
+        System.arraycopy(callbackNames, 0, names, 0, callbackCount);
+        return names;
+    }
+
+    /**
+     * @return frames rendered during swipes and their settle animations
+     */
+    public synchronized long getSwipeFrames() {
+        return swipeFrames;
+    }
+
+    /**
+     * @return janky frames during swipes and their settle animations
+     */
+    public synchronized long getSwipeJankyFrames() {
+        return swipeJankyFrames;
+    }
+
+    /**
+     * @return frames rendered during dismiss collapses
+     */
+    public synchronized long getDismissFrames() {
+        return dismissFrames;
+    }
+
+    /**
+     * @return janky frames during dismiss collapses
+     */
+    public synchronized long getDismissJankyFrames() {
+        return dismissJankyFrames;
+    }
+
+    /**
+     * Clears all measures
+     */
+    public synchronized void reset() {
+        swipeStartLatency.reset();
+        dismissCollapse.reset();
+        listenerCallbacks.reset();
+        for (int i = 0; i < callbackCount; i++) {
+            callbackHistograms[i].reset();
+        }
+        swipeFrames = 0;
+        swipeJankyFrames = 0;
+        dismissFrames = 0;
+        dismissJankyFrames = 0;
+    }
+
+    /**
+     * Callback names are string constants, so they are compared by reference before equals
+     */
+    private int indexOfCallback(String callback) {
+        for (int i = 0; i < callbackCount; i++) {
+            if (callbackNames[i] == callback || callbackNames[i].equals(callback)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+/**
+ * Open addressing hash map from primitive long keys to int values.
+ * <p/>
+ * 0 is the absent value: putting 0 removes the key, so the map only holds keys with some state.
+ */
+final class LongIntHashMap {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys = new long[MIN_CAPACITY];
+    private int[] values = new int[MIN_CAPACITY];
+    private int size;
+
+    /**
+     * Get value
+     *
+     * @param key key
+     * @return value, 0 if key is not in the map
+     */
+    int get(long key) {
+        int mask = keys.length - 1;
+        for (int i = hash(key) & mask; values[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Set value
+     *
+     * @param key   key
+     * @param value value, 0 removes the key
+     */
+    void put(long key, int value) {
+        if (value == 0) {
+            remove(key);
+            return;
+        }
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (values[i] != 0) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    /**
+     * Remove key
+     *
+     * @param key key
+     */
+    void remove(long key) {
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (values[i] != 0) {
+            if (keys[i] == key) {
+                values[i] = 0;
+                size--;
+                closeGap(i, mask);
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    /**
+     * @return number of keys in the map
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Remove all keys
+     */
+    void clear() {
+        if (size > 0) {
+            keys = new long[MIN_CAPACITY];
+            values = new int[MIN_CAPACITY];
+            size = 0;
+        }
+    }
+
+    /**
+     * Moves back the entries following a removed slot so that every probe chain stays unbroken
+     *
+     * @param gap  removed slot
+     * @param mask table mask
+     */
+    private void closeGap(int gap, int mask) {
+        int i = (gap + 1) & mask;
+        while (values[i] != 0) {
+            int home = hash(keys[i]) & mask;
+            // Entry can fill the gap if its home slot is not cyclically between the gap and itself
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                values[i] = 0;
+                gap = i;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] != 0) {
+                int i = hash(oldKeys[j]) & mask;
+                while (values[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+/**
+ * Listener wrapper that reports the time spent in each callback to a metrics sink
+ */
+class MeasuredSwipeListViewListener implements SwipeMoveProgressListener, SwipeChoicesChangedListener {
+
+    final SwipeListViewListener listener;
+    private final SwipeMetricsSink sink;
+
+    /**
+     * Constructor
+     *
+     * @param listener listener called
+     * @param sink     sink receiving the times
+     */
+    MeasuredSwipeListViewListener(SwipeListViewListener listener, SwipeMetricsSink sink) {
+        this.listener = listener;
+        this.sink = sink;
+    }
+
+    @Override
+    public void onOpened(int position, boolean toRight) {
+        long start = System.nanoTime();
+        listener.onOpened(position, toRight);
+        sink.onListenerCallback("onOpened", System.nanoTime() - start);
+    }
+
+    @Override
+    public void onClosed(int position, boolean fromRight) {
+        long start = System.nanoTime();
+        listener.onClosed(position, fromRight);
+        sink.onListenerCallback("onClosed", System.nanoTime() - start);
+    }
+
+    @Override
+    public void onListChanged() {
+        long start = System.nanoTime();
+        listener.onListChanged();
+        sink.onListenerCallback("onListChanged", System.nanoTime() - start);
+    }
+
+    @Override
+    public void onMove(int position, float x) {
+        long start = System.nanoTime();
+        listener.onMove(position, x);
+        sink.onListenerCallback("onMove", System.nanoTime() - start);
+    }
+
+    @Override
+    public void onMoveProgress(int position, float x, float progress) {
+        if (listener instanceof SwipeMoveProgressListener) {
+            long start = System.nanoTime();
+            ((SwipeMoveProgressListener) listener).onMoveProgress(position, x, progress);
+            sink.onListenerCallback("onMoveProgress", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void onStartOpen(int position, int action, boolean right) {
+        long start = System.nanoTime();
+        listener.onStartOpen(position, action, right);
+        sink.onListenerCallback("onStartOpen", System.nanoTime() - start);
+    }
+
+    @Override
+    public void onStartClose(int position, boolean right) {
+        long start = System.nanoTime();
+        listener.onStartClose(position, right);
+        sink.onListenerCallback("onStartClose", System.nanoTime() - start);
+    }
+
+    @Override
+    public void onClickFrontView(int position) {
+        long start = System.nanoTime();
+        listener.onClickFrontView(position);
+        sink.onListenerCallback("onClickFrontView", System.nanoTime() - start);
+    }
+
+    @Override
+    public void onClickBackView(int position) {
+        long start = System.nanoTime();
+        listener.onClickBackView(position);
+        sink.onListenerCallback("onClickBackView", System.nanoTime() - start);
+    }
+
+    @Override
+    public void onDismiss(int[] reverseSortedPositions) {
+        long start = System.nanoTime();
+        listener.onDismiss(reverseSortedPositions);
+        sink.onListenerCallback("onDismiss", System.nanoTime() - start);
+    }
+
+    @Override
+    public int onChangeSwipeMode(int position) {
+        long start = System.nanoTime();
+        int mode = listener.onChangeSwipeMode(position);
+        sink.onListenerCallback("onChangeSwipeMode", System.nanoTime() - start);
+        return mode;
+    }
+
+    @Override
+    public void onChoiceChanged(int position, boolean selected) {
+        long start = System.nanoTime();
+        listener.onChoiceChanged(position, selected);
+        sink.onListenerCallback("onChoiceChanged", System.nanoTime() - start);
+    }
+
+    @Override
+    public void onChoiceStarted() {
+        long start = System.nanoTime();
+        listener.onChoiceStarted();
+        sink.onListenerCallback("onChoiceStarted", System.nanoTime() - start);
+    }
+
+    @Override
+    public void onChoicesChanged() {
+        if (listener instanceof SwipeChoicesChangedListener) {
+            long start = System.nanoTime();
+            ((SwipeChoicesChangedListener) listener).onChoicesChanged();
+            sink.onListenerCallback("onChoicesChanged", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void onChoiceEnded() {
+        long start = System.nanoTime();
+        listener.onChoiceEnded();
+        sink.onListenerCallback("onChoiceEnded", System.nanoTime() - start);
+    }
+
+    @Override
+    public void onFirstListItem() {
+        long start = System.nanoTime();
+        listener.onFirstListItem();
+        sink.onListenerCallback("onFirstListItem", System.nanoTime() - start);
+    }
+
+    @Override
+    public void onLastListItem() {
+        long start = System.nanoTime();
+        listener.onLastListItem();
+        sink.onListenerCallback("onLastListItem", System.nanoTime() - start);
+    }
+
+}
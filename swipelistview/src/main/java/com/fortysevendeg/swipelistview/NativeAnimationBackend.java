@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.view.View;
+
+/**
+ * Animation backend using the framework properties, on API 16 and later
+ */
+@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+class NativeAnimationBackend extends AnimationBackend {
+
+    NativeAnimationBackend(FrameScheduler frameScheduler) {
+        super(frameScheduler);
+    }
+
+    @Override
+    float getX(View view) {
+        return view.getX();
+    }
+
+    @Override
+    float getTranslationX(View view) {
+        return view.getTranslationX();
+    }
+
+    @Override
+    float getAlpha(View view) {
+        return view.getAlpha();
+    }
+
+    @Override
+    void setTranslationX(View view, float value) {
+        view.setTranslationX(value);
+    }
+
+    @Override
+    void setTranslationY(View view, float value) {
+        view.setTranslationY(value);
+    }
+
+    @Override
+    void setAlpha(View view, float value) {
+        view.setAlpha(value);
+    }
+
+}
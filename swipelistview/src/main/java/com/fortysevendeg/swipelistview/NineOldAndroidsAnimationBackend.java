@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+import android.view.View;
+
+import com.nineoldandroids.view.ViewHelper;
+
+/**
+ * Animation backend using nineoldandroids, before API 16
+ */
+class NineOldAndroidsAnimationBackend extends AnimationBackend {
+
+    NineOldAndroidsAnimationBackend(FrameScheduler frameScheduler) {
+        super(frameScheduler);
+    }
+
+    @Override
+    float getX(View view) {
+        return ViewHelper.getX(view);
+    }
+
+    @Override
+    float getTranslationX(View view) {
+        return ViewHelper.getTranslationX(view);
+    }
+
+    @Override
+    float getAlpha(View view) {
+        return ViewHelper.getAlpha(view);
+    }
+
+    @Override
+    void setTranslationX(View view, float value) {
+        ViewHelper.setTranslationX(view, value);
+    }
+
+    @Override
+    void setTranslationY(View view, float value) {
+        ViewHelper.setTranslationY(view, value);
+    }
+
+    @Override
+    void setAlpha(View view, float value) {
+        ViewHelper.setAlpha(view, value);
+    }
+
+}
@@ -0,0 +1,315 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+/**
+ * Growable bit set packed in a long array.
+ * <p/>
+ * Bits that were never set take no memory: the array only grows up to the highest bit set to true,
+ * so reading or clearing any other index never allocates.
+ */
+final class PackedBitSet {
+
+    private static final long[] EMPTY = new long[0];
+
+    private long[] words = EMPTY;
+    private int cardinality;
+
+    /**
+     * Get bit value
+     *
+     * @param index bit index
+     * @return true if the bit is set
+     */
+    boolean get(int index) {
+        if (index < 0) {
+            return false;
+        }
+        int word = index >>> 6;
+        return word < words.length && (words[word] & (1L << index)) != 0;
+    }
+
+    /**
+     * Set bit value
+     *
+     * @param index bit index
+     * @param value new value
+     */
+    void set(int index, boolean value) {
+        if (index < 0) {
+            return;
+        }
+        int word = index >>> 6;
+        long bit = 1L << index;
+        if (value) {
+            ensureWords(word + 1);
+            if ((words[word] & bit) == 0) {
+                words[word] |= bit;
+                cardinality++;
+            }
+        } else if (word < words.length && (words[word] & bit) != 0) {
+            words[word] &= ~bit;
+            cardinality--;
+        }
+    }
+
+    /**
+     * Set a range of bits, a word at a time
+     *
+     * @param fromIndex first bit
+     * @param toIndex   bit after the last one
+     * @param value     new value
+     */
+    void set(int fromIndex, int toIndex, boolean value) {
+        if (fromIndex < 0) {
+            fromIndex = 0;
+        }
+        if (value) {
+            if (toIndex <= fromIndex) {
+                return;
+            }
+            ensureWords(((toIndex - 1) >>> 6) + 1);
+        } else {
+            toIndex = (int) Math.min(toIndex, (long) words.length << 6);
+            if (toIndex <= fromIndex) {
+                return;
+            }
+        }
+        int before = count(fromIndex, toIndex);
+        cardinality += value ? toIndex - fromIndex - before : -before;
+        for (int w = fromIndex >>> 6; w <= (toIndex - 1) >>> 6; w++) {
+            long mask = rangeMask(w, fromIndex, toIndex);
+            if (value) {
+                words[w] |= mask;
+            } else {
+                words[w] &= ~mask;
+            }
+        }
+    }
+
+    /**
+     * Invert a range of bits, a word at a time
+     *
+     * @param fromIndex first bit
+     * @param toIndex   bit after the last one
+     */
+    void flip(int fromIndex, int toIndex) {
+        if (fromIndex < 0) {
+            fromIndex = 0;
+        }
+        if (toIndex <= fromIndex) {
+            return;
+        }
+        ensureWords(((toIndex - 1) >>> 6) + 1);
+        cardinality += toIndex - fromIndex - 2 * count(fromIndex, toIndex);
+        for (int w = fromIndex >>> 6; w <= (toIndex - 1) >>> 6; w++) {
+            words[w] ^= rangeMask(w, fromIndex, toIndex);
+        }
+    }
+
+    /**
+     * @return number of set bits
+     */
+    int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Find the next set bit
+     *
+     * @param fromIndex first index to look at
+     * @return index of the next set bit, or -1 if there is none
+     */
+    int nextSetBit(int fromIndex) {
+        if (fromIndex < 0) {
+            fromIndex = 0;
+        }
+        int word = fromIndex >>> 6;
+        if (word >= words.length) {
+            return -1;
+        }
+        long bits = words[word] & (-1L << fromIndex);
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == words.length) {
+                return -1;
+            }
+            bits = words[word];
+        }
+    }
+
+    /**
+     * Clears all bits
+     */
+    void clear() {
+        words = EMPTY;
+        cardinality = 0;
+    }
+
+    /**
+     * Clears all bits from an index on
+     *
+     * @param fromIndex first bit to clear
+     */
+    void clearFrom(int fromIndex) {
+        if (fromIndex < 0) {
+            fromIndex = 0;
+        }
+        int fromWord = fromIndex >>> 6;
+        if (fromWord >= words.length) {
+            return;
+        }
+        cardinality -= count(fromIndex, (long) words.length << 6);
+        words[fromWord] &= maskBelow(fromIndex & 63);
+        for (int w = fromWord + 1; w < words.length; w++) {
+            words[w] = 0;
+        }
+    }
+
+    /**
+     * Inserts cleared bits, shifting all bits from index up by count
+     *
+     * @param index first inserted bit
+     * @param count number of bits to insert
+     */
+    void insert(int index, int count) {
+        if (index < 0 || count <= 0) {
+            return;
+        }
+        int length = length();
+        if (length <= index) {
+            return;
+        }
+        ensureWords(((length + count - 1) >>> 6) + 1);
+        int fromWord = index >>> 6;
+        for (int w = words.length - 1; w >= fromWord; w--) {
+            long base = (long) w << 6;
+            long keep = maskBelow(index - base);
+            long shifted = ~maskBelow(index + (long) count - base);
+            words[w] = (words[w] & keep) | (wordAt(base - count) & shifted);
+        }
+    }
+
+    /**
+     * Removes bits, shifting all bits above them down by count
+     *
+     * @param index first removed bit
+     * @param count number of bits to remove
+     */
+    void remove(int index, int count) {
+        if (index < 0 || count <= 0) {
+            return;
+        }
+        int fromWord = index >>> 6;
+        if (fromWord >= words.length) {
+            return;
+        }
+        cardinality -= count(index, (long) index + count);
+        for (int w = fromWord; w < words.length; w++) {
+            long base = (long) w << 6;
+            long keep = maskBelow(index - base);
+            words[w] = (words[w] & keep) | (wordAt(base + count) & ~keep);
+        }
+    }
+
+    /**
+     * @return index of the highest set bit plus one
+     */
+    private int length() {
+        for (int w = words.length - 1; w >= 0; w--) {
+            if (words[w] != 0) {
+                return (w << 6) + 64 - Long.numberOfLeadingZeros(words[w]);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Count set bits in [from, to)
+     */
+    private int count(long from, long to) {
+        int total = 0;
+        int fromWord = (int) (from >>> 6);
+        int toWord = (int) Math.min(words.length, (to + 63) >>> 6);
+        for (int w = fromWord; w < toWord; w++) {
+            long base = (long) w << 6;
+            long bits = words[w] & ~maskBelow(from - base) & maskBelow(to - base);
+            total += Long.bitCount(bits);
+        }
+        return total;
+    }
+
+    /**
+     * Reads 64 bits starting at any bit index. Bits outside the array read as 0.
+     *
+     * @param bitIndex first bit, may be negative
+     * @return packed bits
+     */
+    private long wordAt(long bitIndex) {
+        if (bitIndex <= -64 || words.length == 0) {
+            return 0;
+        }
+        if (bitIndex < 0) {
+            return words[0] << -bitIndex;
+        }
+        int word = (int) (bitIndex >>> 6);
+        int offset = (int) (bitIndex & 63);
+        long low = word < words.length ? words[word] >>> offset : 0;
+        if (offset == 0) {
+            return low;
+        }
+        long high = word + 1 < words.length ? words[word + 1] << (64 - offset) : 0;
+        return low | high;
+    }
+
+    /**
+     * Mask with the bits of a word in [fromIndex, toIndex)
+     */
+    private static long rangeMask(int word, long fromIndex, long toIndex) {
+        long base = (long) word << 6;
+        return ~maskBelow(fromIndex - base) & maskBelow(toIndex - base);
+    }
+
+    /**
+     * Mask with the bits below the given offset of a word
+     *
+     * @param offset bit offset in the word, may be out of [0, 64)
+     * @return mask
+     */
+    private static long maskBelow(long offset) {
+        if (offset <= 0) {
+            return 0;
+        }
+        if (offset >= 64) {
+            return -1L;
+        }
+        return (1L << offset) - 1;
+    }
+
+    private void ensureWords(int count) {
+        if (count > words.length) {
+            long[] grown = new long[Math.max(count, words.length * 2)];
+            System.arraycopy(words, 0, grown, 0, words.length);
+            words = grown;
+        }
+    }
+
+}
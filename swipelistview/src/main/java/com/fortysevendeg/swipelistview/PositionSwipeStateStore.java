@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+/**
+ * State store keyed by list position, backed by packed bit sets
+ */
+class PositionSwipeStateStore implements SwipeStateStore {
+
+    private final PackedBitSet opened = new PackedBitSet();
+    private final PackedBitSet openedRight = new PackedBitSet();
+    private final PackedBitSet checked = new PackedBitSet();
+
+    @Override
+    public boolean isOpened(int position) {
+        return opened.get(position);
+    }
+
+    @Override
+    public boolean isOpenedRight(int position) {
+        return openedRight.get(position);
+    }
+
+    @Override
+    public void setOpened(int position, boolean opened) {
+        this.opened.set(position, opened);
+    }
+
+    @Override
+    public void setOpenedRight(int position, boolean right) {
+        openedRight.set(position, right);
+    }
+
+    @Override
+    public boolean isChecked(int position) {
+        return checked.get(position);
+    }
+
+    @Override
+    public void setChecked(int position, boolean checked) {
+        this.checked.set(position, checked);
+    }
+
+    @Override
+    public void setChecked(int fromPosition, int toPosition, boolean checked) {
+        this.checked.set(fromPosition, toPosition, checked);
+    }
+
+    @Override
+    public void invertChecked(int fromPosition, int toPosition) {
+        checked.flip(fromPosition, toPosition);
+    }
+
+    @Override
+    public int getCheckedCount() {
+        return checked.cardinality();
+    }
+
+    @Override
+    public int nextChecked(int fromPosition) {
+        return checked.nextSetBit(fromPosition);
+    }
+
+    @Override
+    public int getOpenedCount() {
+        return opened.cardinality();
+    }
+
+    @Override
+    public int closeOpenedOutside(int fromPosition, int toPosition, int[] closedPositions) {
+        int closed = 0;
+        for (int i = opened.nextSetBit(0); i >= 0; i = opened.nextSetBit(i + 1)) {
+            if (i >= fromPosition && i <= toPosition) {
+                i = toPosition;
+            } else {
+                opened.set(i, false);
+                closedPositions[closed++] = i;
+            }
+        }
+        return closed;
+    }
+
+    @Override
+    public void insert(int position, int count) {
+        opened.insert(position, count);
+        openedRight.insert(position, count);
+        checked.insert(position, count);
+    }
+
+    @Override
+    public void remove(int position, int count) {
+        opened.remove(position, count);
+        openedRight.remove(position, count);
+        checked.remove(position, count);
+    }
+
+    @Override
+    public void move(int fromPosition, int toPosition) {
+        move(opened, fromPosition, toPosition);
+        move(openedRight, fromPosition, toPosition);
+        move(checked, fromPosition, toPosition);
+    }
+
+    @Override
+    public void setCount(int count) {
+        opened.clearFrom(count);
+        openedRight.clearFrom(count);
+        checked.clearFrom(count);
+    }
+
+    @Override
+    public void clear() {
+        opened.clear();
+        openedRight.clear();
+        checked.clear();
+    }
+
+    private static void move(PackedBitSet bits, int fromPosition, int toPosition) {
+        boolean value = bits.get(fromPosition);
+        bits.remove(fromPosition, 1);
+        bits.insert(toPosition, 1);
+        bits.set(toPosition, value);
+    }
+
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+import android.support.v4.view.ViewCompat;
+import android.view.View;
+import android.view.ViewGroup;
+
+
+/**
+ * Collapses dismissed rows. Every collapsing row is driven by one frame callback, whatever the number of rows,
+ * and several dismisses can run at the same time.
+ * <p/>
+ * In SWIPE_DISMISS_ANIMATION_HEIGHT mode the rows shrink their layout height, so the list is laid out once per frame
+ * for all of them. In SWIPE_DISMISS_ANIMATION_TRANSLATE mode the dismissed rows fade out while the rows below slide up
+ * with translationY on hardware layers, each one offset by the sum of the collapses above it. Nothing is laid out
+ * until the dismissed items are removed from the adapter, so the list does a single layout when the collapse is over.
+ */
+class RowCollapseAnimator implements FrameScheduler.Callback {
+
+    /**
+     * Receives the end of each row collapse
+     */
+    interface Listener {
+
+        /**
+         * Row finished collapsing. It stays collapsed until {@link RowCollapseAnimator#reset()}
+         *
+         * @param row            collapsed row
+         * @param pendingDismiss value given to {@link RowCollapseAnimator#collapse(View, boolean)}
+         */
+        void onRowCollapsed(View row, boolean pendingDismiss);
+
+    }
+
+    private final ViewGroup list;
+    private final FrameScheduler frameScheduler;
+    private final AnimationBackend animations;
+    private final Listener listener;
+    private long duration;
+    private int requestedMode = SwipeListView.SWIPE_DISMISS_ANIMATION_HEIGHT;
+    private int mode = requestedMode;
+
+    private View[] rows = new View[4];
+    private int[] heights = new int[4];
+    private int[] layoutHeights = new int[4];
+    private float[] alphas = new float[4];
+    private long[] startTimes = new long[4];
+    private boolean[] pendingDismisses = new boolean[4];
+    private boolean[] running = new boolean[4];
+    private int count;
+
+    private View[] layeredRows = new View[8];
+    private int layeredCount;
+    // Every view translated, including rows that scrolled off since and may be in the recycler
+    private View[] movedRows = new View[8];
+    private int movedCount;
+
+    /**
+     * Constructor
+     *
+     * @param list           list whose children are moved
+     * @param frameScheduler frame source
+     * @param animations     backend moving the rows
+     * @param listener       end listener
+     */
+    RowCollapseAnimator(ViewGroup list, FrameScheduler frameScheduler, AnimationBackend animations, Listener listener) {
+        this.list = list;
+        this.frameScheduler = frameScheduler;
+        this.animations = animations;
+        this.listener = listener;
+    }
+
+    /**
+     * Set collapse duration
+     *
+     * @param duration milliseconds
+     */
+    void setDuration(long duration) {
+        this.duration = duration;
+    }
+
+    /**
+     * Set how rows collapse. It applies from the next collapse started while no other is running.
+     *
+     * @param mode SWIPE_DISMISS_ANIMATION_HEIGHT or SWIPE_DISMISS_ANIMATION_TRANSLATE
+     */
+    void setMode(int mode) {
+        requestedMode = mode;
+    }
+
+    /**
+     * Start collapsing a row
+     *
+     * @param row            list child to collapse
+     * @param pendingDismiss passed back to the listener
+     */
+    void collapse(View row, boolean pendingDismiss) {
+        if (count == 0) {
+            mode = requestedMode;
+        }
+        if (count == rows.length) {
+            grow();
+        }
+        rows[count] = row;
+        heights[count] = row.getHeight();
+        layoutHeights[count] = row.getLayoutParams().height;
+        alphas[count] = animations.getAlpha(row);
+        startTimes[count] = -1;
+        pendingDismisses[count] = pendingDismiss;
+        running[count] = true;
+        count++;
+
+        if (mode == SwipeListView.SWIPE_DISMISS_ANIMATION_TRANSLATE) {
+            for (int i = list.indexOfChild(row) + 1; i < list.getChildCount(); i++) {
+                View child = list.getChildAt(i);
+                if (ViewCompat.getLayerType(child) != ViewCompat.LAYER_TYPE_HARDWARE && indexOf(layeredRows, layeredCount, child) < 0) {
+                    ViewCompat.setLayerType(child, ViewCompat.LAYER_TYPE_HARDWARE, null);
+                    layeredRows = append(layeredRows, layeredCount++, child);
+                }
+            }
+        }
+        frameScheduler.post(this);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        boolean animating = false;
+        for (int i = 0; i < count; i++) {
+            if (startTimes[i] < 0) {
+                startTimes[i] = frameTimeNanos;
+            }
+        }
+
+        if (mode == SwipeListView.SWIPE_DISMISS_ANIMATION_TRANSLATE) {
+            float offset = 0;
+            for (int c = 0; c < list.getChildCount(); c++) {
+                View child = list.getChildAt(c);
+                animations.setTranslationY(child, -offset);
+                if (offset != 0 && indexOf(movedRows, movedCount, child) < 0) {
+                    movedRows = append(movedRows, movedCount++, child);
+                }
+                int i = indexOf(rows, count, child);
+                if (i >= 0) {
+                    float fraction = fraction(frameTimeNanos - startTimes[i]);
+                    animations.setAlpha(child, alphas[i] * (1 - fraction));
+                    offset += heights[i] * fraction;
+                }
+            }
+        } else {
+            // Every row only flags the layout, the list is laid out once for the frame
+            for (int i = 0; i < count; i++) {
+                if (running[i]) {
+                    float fraction = fraction(frameTimeNanos - startTimes[i]);
+                    ViewGroup.LayoutParams lp = rows[i].getLayoutParams();
+                    lp.height = (int) (heights[i] + fraction * (1 - heights[i]));
+                    rows[i].setLayoutParams(lp);
+                }
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (running[i] && fraction(frameTimeNanos - startTimes[i]) >= 1) {
+                running[i] = false;
+                listener.onRowCollapsed(rows[i], pendingDismisses[i]);
+            }
+            animating |= running[i];
+        }
+        if (animating) {
+            frameScheduler.post(this);
+        }
+    }
+
+    /**
+     * Put every collapsed or moved row back in place, and release the hardware layers. Call it once every collapse
+     * has ended and before onDismiss is called, so the rows are in place when the app removes the dismissed items
+     * and the list lays the remaining ones out.
+     */
+    void reset() {
+        frameScheduler.remove(this);
+        if (mode == SwipeListView.SWIPE_DISMISS_ANIMATION_TRANSLATE) {
+            // Children that were not part of the collapse are zeroed too, then the moved rows no longer children
+            for (int i = 0; i < list.getChildCount(); i++) {
+                animations.setTranslationY(list.getChildAt(i), 0);
+            }
+            for (int i = 0; i < movedCount; i++) {
+                animations.setTranslationY(movedRows[i], 0);
+                movedRows[i] = null;
+            }
+        }
+        movedCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (mode == SwipeListView.SWIPE_DISMISS_ANIMATION_TRANSLATE) {
+                animations.setTranslationY(rows[i], 0);
+            } else {
+                ViewGroup.LayoutParams lp = rows[i].getLayoutParams();
+                lp.height = layoutHeights[i];
+                rows[i].setLayoutParams(lp);
+            }
+            rows[i] = null;
+        }
+        for (int i = 0; i < layeredCount; i++) {
+            ViewCompat.setLayerType(layeredRows[i], ViewCompat.LAYER_TYPE_NONE, null);
+            layeredRows[i] = null;
+        }
+        count = 0;
+        layeredCount = 0;
+    }
+
+    /**
+     * Interpolated progress, same curve as the default ValueAnimator interpolator
+     *
+     * @param elapsedNanos time since the collapse started
+     * @return progress from 0 to 1
+     */
+    private float fraction(long elapsedNanos) {
+        if (duration <= 0) {
+            return 1;
+        }
+        float input = Math.min(1f, elapsedNanos / (duration * 1000000f));
+        return (float) (Math.cos((input + 1) * Math.PI) / 2.0f) + 0.5f;
+    }
+
+    private static int indexOf(View[] views, int count, View view) {
+        for (int i = 0; i < count; i++) {
+            if (views[i] == view) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Store a view after the first count ones, growing the array if it is full
+     *
+     * @return the array holding the views
+     */
+    private static View[] append(View[] views, int count, View view) {
+        if (count == views.length) {
+            View[] grown = new View[count * 2];
+            System.arraycopy(views, 0, grown, 0, count);
+            views = grown;
+        }
+        views[count] = view;
+        return views;
+    }
+
+    private void grow() {
+        int capacity = count * 2;
+        View[] newRows = new View[capacity];
+        System.arraycopy(rows, 0, newRows, 0, count);
+        rows = newRows;
+        int[] newHeights = new int[capacity];
+        System.arraycopy(heights, 0, newHeights, 0, count);
+        heights = newHeights;
+        int[] newLayoutHeights = new int[capacity];
+        System.arraycopy(layoutHeights, 0, newLayoutHeights, 0, count);
+        layoutHeights = newLayoutHeights;
+        float[] newAlphas = new float[capacity];
+        System.arraycopy(alphas, 0, newAlphas, 0, count);
+        alphas = newAlphas;
+        long[] newStartTimes = new long[capacity];
+        System.arraycopy(startTimes, 0, newStartTimes, 0, count);
+        startTimes = newStartTimes;
+        boolean[] newPendingDismisses = new boolean[capacity];
+        System.arraycopy(pendingDismisses, 0, newPendingDismisses, 0, count);
+        pendingDismisses = newPendingDismisses;
+        boolean[] newRunning = new boolean[capacity];
+        System.arraycopy(running, 0, newRunning, 0, count);
+        running = newRunning;
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+import android.support.v4.view.ViewCompat;
+import android.view.View;
+
+/**
+ * Slides a row to its open, closed or dismissed place on frame callbacks, fading it for dismisses.
+ * <p/>
+ * Each animated view keeps its animator in a tag, so animations don't allocate once the rows are created.
+ * Starting an animation on a view ends the running one first and runs its end action, as ViewPropertyAnimator did.
+ */
+class RowSlideAnimator implements FrameScheduler.Callback {
+
+    private final View view;
+    private final FrameScheduler frameScheduler;
+    private final AnimationBackend animations;
+    private float fromTranslationX;
+    private float toTranslationX;
+    private boolean fade;
+    private float fromAlpha;
+    private float toAlpha;
+    private boolean layer;
+    private long duration;
+    private long startTime;
+    private boolean running;
+    private AnimationBackend.EndAction endAction;
+
+    private RowSlideAnimator(View view, FrameScheduler frameScheduler, AnimationBackend animations) {
+        this.view = view;
+        this.frameScheduler = frameScheduler;
+        this.animations = animations;
+    }
+
+    /**
+     * Get the animator of a view, creating it on its first animation
+     *
+     * @param view           animated view
+     * @param frameScheduler frame source
+     * @param animations     backend moving the view
+     * @return animator
+     */
+    static RowSlideAnimator of(View view, FrameScheduler frameScheduler, AnimationBackend animations) {
+        RowSlideAnimator animator = (RowSlideAnimator) view.getTag(R.id.swipelistview__row_slide_animator);
+        if (animator == null) {
+            animator = new RowSlideAnimator(view, frameScheduler, animations);
+            view.setTag(R.id.swipelistview__row_slide_animator, animator);
+        }
+        return animator;
+    }
+
+    /**
+     * Start the animation from the current translationX and alpha of the view
+     *
+     * @param translationX final translationX
+     * @param fade         true to animate alpha too
+     * @param alpha        final alpha
+     * @param duration     duration in ms
+     * @param endAction    called when the animation ends, also when a new animation of the view cancels it
+     */
+    void start(float translationX, boolean fade, float alpha, long duration, AnimationBackend.EndAction endAction) {
+        end();
+        fromTranslationX = animations.getTranslationX(view);
+        toTranslationX = translationX;
+        this.fade = fade;
+        fromAlpha = animations.getAlpha(view);
+        toAlpha = alpha;
+        this.duration = duration;
+        this.endAction = endAction;
+        // A view already on a layer keeps it
+        layer = fade && ViewCompat.getLayerType(view) == ViewCompat.LAYER_TYPE_NONE;
+        if (layer) {
+            ViewCompat.setLayerType(view, ViewCompat.LAYER_TYPE_HARDWARE, null);
+        }
+        startTime = -1;
+        running = true;
+        frameScheduler.post(this);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (startTime < 0) {
+            startTime = frameTimeNanos;
+        }
+        float fraction = fraction(frameTimeNanos - startTime);
+        animations.setTranslationX(view, fromTranslationX + (toTranslationX - fromTranslationX) * fraction);
+        if (fade) {
+            animations.setAlpha(view, fromAlpha + (toAlpha - fromAlpha) * fraction);
+        }
+        if (fraction < 1) {
+            frameScheduler.post(this);
+        } else {
+            end();
+        }
+    }
+
+    /**
+     * Stop the animation where it is, if running, and run its end action
+     */
+    private void end() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        frameScheduler.remove(this);
+        if (layer) {
+            ViewCompat.setLayerType(view, ViewCompat.LAYER_TYPE_NONE, null);
+            layer = false;
+        }
+        // Cleared first, the end action may start the next animation of the view
+        AnimationBackend.EndAction action = endAction;
+        endAction = null;
+        if (action != null) {
+            action.onAnimationEnd();
+        }
+    }
+
+    /**
+     * Interpolated progress, same curve as the default ValueAnimator interpolator
+     *
+     * @param elapsedNanos time since the first frame
+     * @return progress from 0 to 1
+     */
+    private float fraction(long elapsedNanos) {
+        if (duration <= 0) {
+            return 1;
+        }
+        float input = Math.min(1f, elapsedNanos / (duration * 1000000f));
+        return (float) (Math.cos((input + 1) * Math.PI) / 2.0f) + 0.5f;
+    }
+
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+import android.widget.ListAdapter;
+import android.widget.ListView;
+
+/**
+ * State store keyed by the adapter item ids. Only valid when the adapter has stable ids.
+ * <p/>
+ * State follows the items, so inserting, removing or moving items in the adapter needs no work here.
+ * The state of ids no longer in the adapter is dropped by {@link #setCount(int)} on the next data set change.
+ */
+class StableIdSwipeStateStore implements SwipeStateStore {
+
+    private static final int FLAG_OPENED = 1;
+    private static final int FLAG_OPENED_RIGHT = 1 << 1;
+    private static final int FLAG_CHECKED = 1 << 2;
+
+    private final ListView listView;
+    private LongIntHashMap flags = new LongIntHashMap();
+    private int checkedCount;
+    // Index of the opened ids, with the position where each one was last seen
+    private long[] openedIds = new long[4];
+    private int[] openedPositions = new int[4];
+    private int openedCount;
+
+    /**
+     * Constructor
+     *
+     * @param listView list whose adapter gives the item ids
+     */
+    StableIdSwipeStateStore(ListView listView) {
+        this.listView = listView;
+    }
+
+    @Override
+    public boolean isOpened(int position) {
+        return hasFlag(position, FLAG_OPENED);
+    }
+
+    @Override
+    public boolean isOpenedRight(int position) {
+        return hasFlag(position, FLAG_OPENED_RIGHT);
+    }
+
+    @Override
+    public void setOpened(int position, boolean opened) {
+        setFlag(position, FLAG_OPENED, opened);
+        long id = itemId(position);
+        if (id == ListView.INVALID_ROW_ID) {
+            return;
+        }
+        int index = indexOfOpened(id);
+        if (!opened) {
+            if (index >= 0) {
+                removeOpened(index);
+            }
+        } else if (index >= 0) {
+            openedPositions[index] = position;
+        } else {
+            addOpened(id, position);
+        }
+    }
+
+    @Override
+    public void setOpenedRight(int position, boolean right) {
+        setFlag(position, FLAG_OPENED_RIGHT, right);
+    }
+
+    @Override
+    public boolean isChecked(int position) {
+        return hasFlag(position, FLAG_CHECKED);
+    }
+
+    @Override
+    public void setChecked(int position, boolean checked) {
+        if (setFlag(position, FLAG_CHECKED, checked)) {
+            checkedCount += checked ? 1 : -1;
+        }
+    }
+
+    /**
+     * Ids are not ordered by position, so this walks the range. Unchecking stops once nothing is checked.
+     */
+    @Override
+    public void setChecked(int fromPosition, int toPosition, boolean checked) {
+        for (int i = fromPosition; i < toPosition && (checked || checkedCount > 0); i++) {
+            setChecked(i, checked);
+        }
+    }
+
+    @Override
+    public void invertChecked(int fromPosition, int toPosition) {
+        for (int i = fromPosition; i < toPosition; i++) {
+            setChecked(i, !isChecked(i));
+        }
+    }
+
+    @Override
+    public int getCheckedCount() {
+        return checkedCount;
+    }
+
+    /**
+     * Ids are not ordered by position, so this walks the adapter until a checked item is found.
+     * It returns immediately when nothing is checked.
+     */
+    @Override
+    public int nextChecked(int fromPosition) {
+        ListAdapter adapter = listView.getAdapter();
+        if (checkedCount == 0 || adapter == null) {
+            return -1;
+        }
+        int count = adapter.getCount();
+        for (int i = Math.max(0, fromPosition); i < count; i++) {
+            if ((flags.get(adapter.getItemId(i)) & FLAG_CHECKED) != 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int getOpenedCount() {
+        return openedCount;
+    }
+
+    /**
+     * Walks the opened ids index, never the adapter. Positions are the ones recorded when the items were opened,
+     * refreshed by {@link #setCount(int)} on every data set change.
+     */
+    @Override
+    public int closeOpenedOutside(int fromPosition, int toPosition, int[] closedPositions) {
+        int closed = 0;
+        for (int i = openedCount - 1; i >= 0; i--) {
+            int position = openedPositions[i];
+            if (position < fromPosition || position > toPosition) {
+                long id = openedIds[i];
+                flags.put(id, flags.get(id) & ~FLAG_OPENED);
+                closedPositions[closed++] = position;
+                removeOpened(i);
+            }
+        }
+        return closed;
+    }
+
+    @Override
+    public void insert(int position, int count) {
+    }
+
+    @Override
+    public void remove(int position, int count) {
+    }
+
+    @Override
+    public void move(int fromPosition, int toPosition) {
+    }
+
+    /**
+     * Drops the state of ids no longer in the adapter, and records the new position of the opened ones.
+     * It walks the adapter, but only when some item has state.
+     */
+    @Override
+    public void setCount(int count) {
+        ListAdapter adapter = listView.getAdapter();
+        if (flags.size() == 0 || adapter == null) {
+            return;
+        }
+        LongIntHashMap live = new LongIntHashMap();
+        int liveCheckedCount = 0;
+        openedCount = 0;
+        count = Math.min(count, adapter.getCount());
+        for (int i = 0; i < count && live.size() < flags.size(); i++) {
+            long id = adapter.getItemId(i);
+            int value = flags.get(id);
+            if (value != 0 && live.get(id) == 0) {
+                live.put(id, value);
+                if ((value & FLAG_CHECKED) != 0) {
+                    liveCheckedCount++;
+                }
+                if ((value & FLAG_OPENED) != 0) {
+                    addOpened(id, i);
+                }
+            }
+        }
+        flags = live;
+        checkedCount = liveCheckedCount;
+    }
+
+    @Override
+    public void clear() {
+        flags.clear();
+        checkedCount = 0;
+        openedCount = 0;
+    }
+
+    private int indexOfOpened(long id) {
+        for (int i = 0; i < openedCount; i++) {
+            if (openedIds[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void addOpened(long id, int position) {
+        if (openedCount == openedIds.length) {
+            long[] grownIds = new long[openedCount * 2];
+            System.arraycopy(openedIds, 0, grownIds, 0, openedCount);
+            openedIds = grownIds;
+            int[] grownPositions = new int[openedCount * 2];
+            System.arraycopy(openedPositions, 0, grownPositions, 0, openedCount);
+            openedPositions = grownPositions;
+        }
+        openedIds[openedCount] = id;
+        openedPositions[openedCount] = position;
+        openedCount++;
+    }
+
+    private void removeOpened(int index) {
+        openedCount--;
+        openedIds[index] = openedIds[openedCount];
+        openedPositions[index] = openedPositions[openedCount];
+    }
+
+    private boolean hasFlag(int position, int flag) {
+        long id = itemId(position);
+        return id != ListView.INVALID_ROW_ID && (flags.get(id) & flag) != 0;
+    }
+
+    /**
+     * Set or clear one flag
+     *
+     * @return true if the flag changed
+     */
+    private boolean setFlag(int position, int flag, boolean value) {
+        long id = itemId(position);
+        if (id == ListView.INVALID_ROW_ID) {
+            return false;
+        }
+        int current = flags.get(id);
+        int updated = value ? current | flag : current & ~flag;
+        if (updated == current) {
+            return false;
+        }
+        flags.put(id, updated);
+        return true;
+    }
+
+    private long itemId(int position) {
+        ListAdapter adapter = listView.getAdapter();
+        if (adapter == null || position < 0 || position >= adapter.getCount()) {
+            return ListView.INVALID_ROW_ID;
+        }
+        return adapter.getItemId(position);
+    }
+
+}
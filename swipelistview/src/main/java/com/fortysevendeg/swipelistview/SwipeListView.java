@@ -93,6 +93,17 @@ public class SwipeListView extends ListView {
      */
     public final static int SWIPE_ACTION_NONE = 3;
 
+    /**
+     * Dismissed rows collapse by animating their height, which lays out the list on every frame
+     */
+    public final static int SWIPE_DISMISS_ANIMATION_HEIGHT = 0;
+
+    /**
+     * Dismissed rows fade out while the rows below slide up on hardware layers. The list is laid out only once,
+     * when the items are removed
+     */
+    public final static int SWIPE_DISMISS_ANIMATION_TRANSLATE = 1;
+
     /**
      * Default ids for front view
      */
@@ -132,11 +143,21 @@ public class SwipeListView extends ListView {
      */
     private SwipeListViewListener swipeListViewListener;
 
+    /**
+     * Receives timings, null when not measuring
+     */
+    private SwipeMetricsSink swipeMetricsSink;
+
     /**
      * Internal touch listener
      */
     private SwipeListViewTouchListener touchListener;
 
+    /**
+     * Adapter giving the swipe mode of each row, if it implements SwipeModeAdapter
+     */
+    private SwipeModeAdapter swipeModeAdapter;
+
 
     /**
      * If you create a View programmatically you need send back and front identifier
@@ -183,6 +204,12 @@ public class SwipeListView extends ListView {
         float swipeOffsetRight = 0;
         int swipeDrawableChecked = 0;
         int swipeDrawableUnchecked = 0;
+        boolean swipeStateByItemId = false;
+        boolean swipeCoalesceMove = false;
+        int swipeDismissAnimation = SWIPE_DISMISS_ANIMATION_HEIGHT;
+        boolean swipeDragLayer = true;
+        float swipeScrollSettleVelocity = -1;
+        boolean swipeDragSelect = false;
 
         int swipeActionLeft = SWIPE_ACTION_REVEAL;
         int swipeActionRight = SWIPE_ACTION_REVEAL;
@@ -199,6 +226,12 @@ public class SwipeListView extends ListView {
             swipeCloseAllItemsWhenMoveList = styled.getBoolean(R.styleable.SwipeListView_swipeCloseAllItemsWhenMoveList, true);
             swipeDrawableChecked = styled.getResourceId(R.styleable.SwipeListView_swipeDrawableChecked, 0);
             swipeDrawableUnchecked = styled.getResourceId(R.styleable.SwipeListView_swipeDrawableUnchecked, 0);
+            swipeStateByItemId = styled.getBoolean(R.styleable.SwipeListView_swipeStateByItemId, false);
+            swipeCoalesceMove = styled.getBoolean(R.styleable.SwipeListView_swipeCoalesceMove, false);
+            swipeDismissAnimation = styled.getInt(R.styleable.SwipeListView_swipeDismissAnimation, SWIPE_DISMISS_ANIMATION_HEIGHT);
+            swipeDragLayer = styled.getBoolean(R.styleable.SwipeListView_swipeDragLayer, true);
+            swipeScrollSettleVelocity = styled.getDimension(R.styleable.SwipeListView_swipeScrollSettleVelocity, -1);
+            swipeDragSelect = styled.getBoolean(R.styleable.SwipeListView_swipeDragSelect, false);
             swipeFrontView = styled.getResourceId(R.styleable.SwipeListView_swipeFrontView, 0);
             swipeBackView = styled.getResourceId(R.styleable.SwipeListView_swipeBackView, 0);
             styled.recycle();
@@ -228,26 +261,46 @@ public class SwipeListView extends ListView {
         touchListener.setSwipeOpenOnLongPress(swipeOpenOnLongPress);
         touchListener.setSwipeDrawableChecked(swipeDrawableChecked);
         touchListener.setSwipeDrawableUnchecked(swipeDrawableUnchecked);
+        touchListener.setStateByItemId(swipeStateByItemId);
+        touchListener.setCoalesceMoves(swipeCoalesceMove);
+        touchListener.setDismissAnimation(swipeDismissAnimation);
+        touchListener.setDragLayer(swipeDragLayer);
+        if (swipeScrollSettleVelocity >= 0) {
+            touchListener.setScrollSettleVelocity(swipeScrollSettleVelocity);
+        }
+        touchListener.setDragSelect(swipeDragSelect);
         setOnTouchListener(touchListener);
         setOnScrollListener(touchListener.makeScrollListener());
     }
 
     /**
-     * Recycle cell. This method should be called from getView in Adapter when use SWIPE_ACTION_CHOICE
+     * Recycle cell. This method should be called from getView in Adapter when use SWIPE_ACTION_CHOICE.
+     * It also caches the front and back views of the row, so touches on it need no view lookups.
      *
      * @param convertView parent view
      * @param position    position in list
      */
     public void recycle(View convertView, int position) {
-        touchListener.reloadChoiceStateInView(convertView.findViewById(swipeFrontView), position);
-        touchListener.reloadSwipeStateInView(convertView.findViewById(swipeFrontView), position);
-
-        // Clean pressed state (if dismiss is fire from a cell, to this cell, with a press drawable, in a swipelistview
-        // when this cell will be recycle it will still have his pressed state. This ensure the pressed state is
-        // cleaned.
-        for(int j=0; j<((ViewGroup)convertView).getChildCount(); ++j) {
-            View nextChild = ((ViewGroup)convertView).getChildAt(j);
-            nextChild.setPressed(false);
+        boolean trace = SwipeTrace.isEnabled();
+        if (trace) {
+            SwipeTrace.begin(SwipeTrace.RECYCLE);
+        }
+        try {
+            SwipeRowHolder holder = touchListener.getRowHolder(convertView);
+            touchListener.reloadChoiceStateInView(holder.frontView, position);
+            touchListener.reloadSwipeStateInView(holder.frontView, position);
+
+            // Clean pressed state (if dismiss is fire from a cell, to this cell, with a press drawable, in a swipelistview
+            // when this cell will be recycle it will still have his pressed state. This ensure the pressed state is
+            // cleaned.
+            for(int j=0; j<((ViewGroup)convertView).getChildCount(); ++j) {
+                View nextChild = ((ViewGroup)convertView).getChildAt(j);
+                nextChild.setPressed(false);
+            }
+        } finally {
+            if (trace) {
+                SwipeTrace.end();
+            }
         }
     }
 
@@ -270,6 +323,30 @@ public class SwipeListView extends ListView {
         return touchListener.getPositionsSelected();
     }
 
+    /**
+     * Copy positions selected, in ascending order, into an array. Nothing is allocated,
+     * so the same array can be reused on every call.
+     *
+     * @param positions array to fill
+     * @return number of positions selected. If greater than positions.length only the first ones were copied
+     */
+    public int getPositionsSelected(int[] positions) {
+        return touchListener.getPositionsSelected(positions);
+    }
+
+    /**
+     * Get next position selected. Iterate the selection without allocations with
+     * <pre>
+     * for (int i = list.nextPositionSelected(0); i != ListView.INVALID_POSITION; i = list.nextPositionSelected(i + 1))
+     * </pre>
+     *
+     * @param fromPosition first position to look at
+     * @return next position selected or ListView.INVALID_POSITION if there are no more
+     */
+    public int nextPositionSelected(int fromPosition) {
+        return touchListener.nextPositionSelected(fromPosition);
+    }
+
     /**
      * Count selected
      *
@@ -286,12 +363,49 @@ public class SwipeListView extends ListView {
         touchListener.unselectedChoiceStates();
     }
 
+    /**
+     * Select every item, headers and footers excepted
+     */
+    public void selectAll() {
+        touchListener.selectAll();
+    }
+
+    /**
+     * Select items from a position to another, both included. The range is clamped to the items,
+     * headers and footers excepted
+     *
+     * @param fromPosition first position
+     * @param toPosition   last position
+     */
+    public void selectRange(int fromPosition, int toPosition) {
+        touchListener.selectRange(fromPosition, toPosition);
+    }
+
+    /**
+     * Select the items not selected and unselect the others, headers and footers excepted
+     */
+    public void invertSelection() {
+        touchListener.invertSelection();
+    }
+
+    /**
+     * Select or unselect several items. Positions of headers, footers or past the end are ignored
+     *
+     * @param positions positions in list
+     * @param checked   true to select
+     */
+    public void setChecked(int[] positions, boolean checked) {
+        touchListener.setChecked(positions, checked);
+    }
+
     /**
      * @see android.widget.ListView#setAdapter(android.widget.ListAdapter)
      */
     @Override
     public void setAdapter(ListAdapter adapter) {
         super.setAdapter(adapter);
+        swipeModeAdapter = adapter instanceof SwipeModeAdapter ? (SwipeModeAdapter) adapter : null;
+        touchListener.updateStateStore();
         touchListener.resetItems();
         if (null != adapter) {
             adapter.registerDataSetObserver(new DataSetObserver() {
@@ -306,44 +420,65 @@ public class SwipeListView extends ListView {
         }
     }
 
+    /**
+     * Notifies that items were inserted in the adapter, so the swipe and choice states move with them.
+     * Call it after changing the adapter data and before notifyDataSetChanged().
+     * <p/>
+     * Positions are list positions, counting header views like the listener callbacks do,
+     * not the adapter positions of {@link SwipeModeAdapter}: add {@link #getHeaderViewsCount()} to an adapter position.
+     *
+     * @param position first inserted position in the list, header views included
+     * @param count    number of inserted items
+     */
+    public void notifyItemRangeInserted(int position, int count) {
+        touchListener.onItemRangeInserted(position, count);
+    }
+
+    /**
+     * Notifies that items were removed from the adapter, so their swipe and choice states are dropped
+     * and the following ones move up. Call it after changing the adapter data and before notifyDataSetChanged().
+     * Not needed for items dismissed by the list, their states are already dropped when onDismiss is called.
+     * <p/>
+     * Positions are list positions, counting header views like the listener callbacks do,
+     * not the adapter positions of {@link SwipeModeAdapter}: add {@link #getHeaderViewsCount()} to an adapter position.
+     *
+     * @param position first removed position in the list, header views included
+     * @param count    number of removed items
+     */
+    public void notifyItemRangeRemoved(int position, int count) {
+        touchListener.onItemRangeRemoved(position, count);
+    }
+
+    /**
+     * Notifies that an item was moved in the adapter, so its swipe and choice states move with it.
+     * Call it after changing the adapter data and before notifyDataSetChanged().
+     * <p/>
+     * Positions are list positions, counting header views like the listener callbacks do,
+     * not the adapter positions of {@link SwipeModeAdapter}: add {@link #getHeaderViewsCount()} to an adapter position.
+     *
+     * @param fromPosition old position in the list, header views included
+     * @param toPosition   new position in the list, header views included
+     */
+    public void notifyItemMoved(int fromPosition, int toPosition) {
+        touchListener.onItemMoved(fromPosition, toPosition);
+    }
+
     /**
      * Dismiss item
      *
      * @param position Position that you want open
      */
     public void dismiss(int position) {
-        int height = touchListener.dismiss(position);
-        if (height > 0) {
-            touchListener.handlerPendingDismisses(height);
-        } else {
-            int[] dismissPositions = new int[1];
-            dismissPositions[0] = position;
-            onDismiss(dismissPositions);
-            touchListener.resetPendingDismisses();
-        }
+        touchListener.dismiss(position);
     }
 
     /**
      * Dismiss items selected
      */
     public void dismissSelected() {
-        List<Integer> list = touchListener.getPositionsSelected();
-        int[] dismissPositions = new int[list.size()];
-        int height = 0;
-        for (int i = 0; i < list.size(); i++) {
-            int position = list.get(i);
-            dismissPositions[i] = position;
-            int auxHeight = touchListener.dismiss(position);
-            if (auxHeight > 0) {
-                height = auxHeight;
-            }
-        }
-        if (height > 0) {
-            touchListener.handlerPendingDismisses(height);
-        } else {
-            onDismiss(dismissPositions);
-            touchListener.resetPendingDismisses();
-        }
+        int[] dismissPositions = new int[touchListener.getCountSelected()];
+        touchListener.getPositionsSelected(dismissPositions);
+        touchListener.dismiss(dismissPositions);
         touchListener.returnOldActions();
     }
 
@@ -365,6 +500,36 @@ public class SwipeListView extends ListView {
         touchListener.closeAnimate(position);
     }
 
+    /**
+     * Open several items. Visible rows animate together, items off screen are opened right away.
+     *
+     * @param positions Positions that you want open
+     */
+    public void openAnimate(int[] positions) {
+        touchListener.openAnimate(positions);
+    }
+
+    /**
+     * Close several items. Visible rows animate together, items off screen are closed right away.
+     *
+     * @param positions Positions that you want close
+     */
+    public void closeAnimate(int[] positions) {
+        touchListener.closeAnimate(positions);
+    }
+
+    /**
+     * Open or close several items without animation and without calling the listener, for example to show
+     * a state that changed on a server
+     *
+     * @param positions Positions to change
+     * @param opened    true to open, false to close
+     * @param right     if opened, open toward the right
+     */
+    public void setOpenedImmediate(int[] positions, boolean opened, boolean right) {
+        touchListener.setOpenedImmediate(positions, opened, right);
+    }
+
     /**
      * Notifies onDismiss
      *
@@ -372,7 +537,17 @@ public class SwipeListView extends ListView {
      */
     protected void onDismiss(int[] reverseSortedPositions) {
         if (swipeListViewListener != null) {
-            swipeListViewListener.onDismiss(reverseSortedPositions);
+            boolean trace = SwipeTrace.isEnabled();
+            if (trace) {
+                SwipeTrace.begin(SwipeTrace.LISTENER_DISMISS);
+            }
+            try {
+                swipeListViewListener.onDismiss(reverseSortedPositions);
+            } finally {
+                if (trace) {
+                    SwipeTrace.end();
+                }
+            }
         }
     }
 
@@ -385,7 +560,17 @@ public class SwipeListView extends ListView {
      */
     protected void onStartOpen(int position, int action, boolean right) {
         if (swipeListViewListener != null && position != ListView.INVALID_POSITION) {
-            swipeListViewListener.onStartOpen(position, action, right);
+            boolean trace = SwipeTrace.isEnabled();
+            if (trace) {
+                SwipeTrace.begin(SwipeTrace.LISTENER_START_OPEN);
+            }
+            try {
+                swipeListViewListener.onStartOpen(position, action, right);
+            } finally {
+                if (trace) {
+                    SwipeTrace.end();
+                }
+            }
         }
     }
 
@@ -397,7 +582,17 @@ public class SwipeListView extends ListView {
      */
     protected void onStartClose(int position, boolean right) {
         if (swipeListViewListener != null && position != ListView.INVALID_POSITION) {
-            swipeListViewListener.onStartClose(position, right);
+            boolean trace = SwipeTrace.isEnabled();
+            if (trace) {
+                SwipeTrace.begin(SwipeTrace.LISTENER_START_CLOSE);
+            }
+            try {
+                swipeListViewListener.onStartClose(position, right);
+            } finally {
+                if (trace) {
+                    SwipeTrace.end();
+                }
+            }
         }
     }
 
@@ -408,7 +603,17 @@ public class SwipeListView extends ListView {
      */
     protected void onClickFrontView(int position) {
         if (swipeListViewListener != null && position != ListView.INVALID_POSITION) {
-            swipeListViewListener.onClickFrontView(position);
+            boolean trace = SwipeTrace.isEnabled();
+            if (trace) {
+                SwipeTrace.begin(SwipeTrace.LISTENER_CLICK_FRONT_VIEW);
+            }
+            try {
+                swipeListViewListener.onClickFrontView(position);
+            } finally {
+                if (trace) {
+                    SwipeTrace.end();
+                }
+            }
         }
     }
 
@@ -419,7 +624,17 @@ public class SwipeListView extends ListView {
      */
     protected void onClickBackView(int position) {
         if (swipeListViewListener != null && position != ListView.INVALID_POSITION) {
-            swipeListViewListener.onClickBackView(position);
+            boolean trace = SwipeTrace.isEnabled();
+            if (trace) {
+                SwipeTrace.begin(SwipeTrace.LISTENER_CLICK_BACK_VIEW);
+            }
+            try {
+                swipeListViewListener.onClickBackView(position);
+            } finally {
+                if (trace) {
+                    SwipeTrace.end();
+                }
+            }
         }
     }
 
@@ -431,7 +646,17 @@ public class SwipeListView extends ListView {
      */
     protected void onOpened(int position, boolean toRight) {
         if (swipeListViewListener != null && position != ListView.INVALID_POSITION) {
-            swipeListViewListener.onOpened(position, toRight);
+            boolean trace = SwipeTrace.isEnabled();
+            if (trace) {
+                SwipeTrace.begin(SwipeTrace.LISTENER_OPENED);
+            }
+            try {
+                swipeListViewListener.onOpened(position, toRight);
+            } finally {
+                if (trace) {
+                    SwipeTrace.end();
+                }
+            }
         }
     }
 
@@ -443,7 +668,17 @@ public class SwipeListView extends ListView {
      */
     protected void onClosed(int position, boolean fromRight) {
         if (swipeListViewListener != null && position != ListView.INVALID_POSITION) {
-            swipeListViewListener.onClosed(position, fromRight);
+            boolean trace = SwipeTrace.isEnabled();
+            if (trace) {
+                SwipeTrace.begin(SwipeTrace.LISTENER_CLOSED);
+            }
+            try {
+                swipeListViewListener.onClosed(position, fromRight);
+            } finally {
+                if (trace) {
+                    SwipeTrace.end();
+                }
+            }
         }
     }
 
@@ -455,7 +690,36 @@ public class SwipeListView extends ListView {
      */
     protected void onChoiceChanged(int position, boolean selected) {
         if (swipeListViewListener != null && position != ListView.INVALID_POSITION) {
-            swipeListViewListener.onChoiceChanged(position, selected);
+            boolean trace = SwipeTrace.isEnabled();
+            if (trace) {
+                SwipeTrace.begin(SwipeTrace.LISTENER_CHOICE_CHANGED);
+            }
+            try {
+                swipeListViewListener.onChoiceChanged(position, selected);
+            } finally {
+                if (trace) {
+                    SwipeTrace.end();
+                }
+            }
+        }
+    }
+
+    /**
+     * Notifies onChoicesChanged, if the listener implements SwipeChoicesChangedListener
+     */
+    protected void onChoicesChanged() {
+        if (swipeListViewListener instanceof SwipeChoicesChangedListener) {
+            boolean trace = SwipeTrace.isEnabled();
+            if (trace) {
+                SwipeTrace.begin(SwipeTrace.LISTENER_CHOICES_CHANGED);
+            }
+            try {
+                ((SwipeChoicesChangedListener) swipeListViewListener).onChoicesChanged();
+            } finally {
+                if (trace) {
+                    SwipeTrace.end();
+                }
+            }
         }
     }
 
@@ -464,7 +728,17 @@ public class SwipeListView extends ListView {
      */
     protected void onChoiceStarted() {
         if (swipeListViewListener != null) {
-            swipeListViewListener.onChoiceStarted();
+            boolean trace = SwipeTrace.isEnabled();
+            if (trace) {
+                SwipeTrace.begin(SwipeTrace.LISTENER_CHOICE_STARTED);
+            }
+            try {
+                swipeListViewListener.onChoiceStarted();
+            } finally {
+                if (trace) {
+                    SwipeTrace.end();
+                }
+            }
         }
     }
 
@@ -473,7 +747,17 @@ public class SwipeListView extends ListView {
      */
     protected void onChoiceEnded() {
         if (swipeListViewListener != null) {
-            swipeListViewListener.onChoiceEnded();
+            boolean trace = SwipeTrace.isEnabled();
+            if (trace) {
+                SwipeTrace.begin(SwipeTrace.LISTENER_CHOICE_ENDED);
+            }
+            try {
+                swipeListViewListener.onChoiceEnded();
+            } finally {
+                if (trace) {
+                    SwipeTrace.end();
+                }
+            }
         }
     }
 
@@ -482,7 +766,17 @@ public class SwipeListView extends ListView {
      */
     protected void onFirstListItem() {
         if (swipeListViewListener != null) {
-            swipeListViewListener.onFirstListItem();
+            boolean trace = SwipeTrace.isEnabled();
+            if (trace) {
+                SwipeTrace.begin(SwipeTrace.LISTENER_FIRST_LIST_ITEM);
+            }
+            try {
+                swipeListViewListener.onFirstListItem();
+            } finally {
+                if (trace) {
+                    SwipeTrace.end();
+                }
+            }
         }
     }
 
@@ -491,7 +785,17 @@ public class SwipeListView extends ListView {
      */
     protected void onLastListItem() {
         if (swipeListViewListener != null) {
-            swipeListViewListener.onLastListItem();
+            boolean trace = SwipeTrace.isEnabled();
+            if (trace) {
+                SwipeTrace.begin(SwipeTrace.LISTENER_LAST_LIST_ITEM);
+            }
+            try {
+                swipeListViewListener.onLastListItem();
+            } finally {
+                if (trace) {
+                    SwipeTrace.end();
+                }
+            }
         }
     }
 
@@ -500,7 +804,17 @@ public class SwipeListView extends ListView {
      */
     protected void onListChanged() {
         if (swipeListViewListener != null) {
-            swipeListViewListener.onListChanged();
+            boolean trace = SwipeTrace.isEnabled();
+            if (trace) {
+                SwipeTrace.begin(SwipeTrace.LISTENER_LIST_CHANGED);
+            }
+            try {
+                swipeListViewListener.onListChanged();
+            } finally {
+                if (trace) {
+                    SwipeTrace.end();
+                }
+            }
         }
     }
 
@@ -512,13 +826,74 @@ public class SwipeListView extends ListView {
      */
     protected void onMove(int position, float x) {
         if (swipeListViewListener != null && position != ListView.INVALID_POSITION) {
-            swipeListViewListener.onMove(position, x);
+            boolean trace = SwipeTrace.isEnabled();
+            if (trace) {
+                SwipeTrace.begin(SwipeTrace.LISTENER_MOVE);
+            }
+            try {
+                swipeListViewListener.onMove(position, x);
+            } finally {
+                if (trace) {
+                    SwipeTrace.end();
+                }
+            }
+        }
+    }
+
+    /**
+     * Notifies onMoveProgress, if the listener implements SwipeMoveProgressListener
+     *
+     * @param position Item moving
+     * @param x        Current position
+     * @param progress Current position relative to the opened position, from -1 to 1
+     */
+    protected void onMoveProgress(int position, float x, float progress) {
+        if (swipeListViewListener instanceof SwipeMoveProgressListener && position != ListView.INVALID_POSITION) {
+            boolean trace = SwipeTrace.isEnabled();
+            if (trace) {
+                SwipeTrace.begin(SwipeTrace.LISTENER_MOVE_PROGRESS);
+            }
+            try {
+                ((SwipeMoveProgressListener) swipeListViewListener).onMoveProgress(position, x, progress);
+            } finally {
+                if (trace) {
+                    SwipeTrace.end();
+                }
+            }
         }
     }
 
+    /**
+     * Get swipe mode of a row, from the adapter if it implements SwipeModeAdapter or else from the listener
+     *
+     * @param position position in list
+     * @return swipe mode or SWIPE_MODE_DEFAULT
+     */
     protected int changeSwipeMode(int position) {
-        if (swipeListViewListener != null && position != ListView.INVALID_POSITION) {
-            return swipeListViewListener.onChangeSwipeMode(position);
+        if (position == ListView.INVALID_POSITION) {
+            return SWIPE_MODE_DEFAULT;
+        }
+        if (swipeModeAdapter != null) {
+            int adapterPosition = position - getHeaderViewsCount();
+            if (adapterPosition >= 0 && adapterPosition < getCount() - getHeaderViewsCount() - getFooterViewsCount()) {
+                int swipeMode = swipeModeAdapter.getSwipeMode(adapterPosition);
+                if (swipeMode != SWIPE_MODE_DEFAULT) {
+                    return swipeMode;
+                }
+            }
+        }
+        if (swipeListViewListener != null) {
+            boolean trace = SwipeTrace.isEnabled();
+            if (trace) {
+                SwipeTrace.begin(SwipeTrace.LISTENER_CHANGE_SWIPE_MODE);
+            }
+            try {
+                return swipeListViewListener.onChangeSwipeMode(position);
+            } finally {
+                if (trace) {
+                    SwipeTrace.end();
+                }
+            }
         }
         return SWIPE_MODE_DEFAULT;
     }
@@ -529,9 +904,28 @@ public class SwipeListView extends ListView {
      * @param swipeListViewListener Listener
      */
     public void setSwipeListViewListener(SwipeListViewListener swipeListViewListener) {
+        if (swipeMetricsSink != null && swipeListViewListener != null) {
+            swipeListViewListener = new MeasuredSwipeListViewListener(swipeListViewListener, swipeMetricsSink);
+        }
         this.swipeListViewListener = swipeListViewListener;
     }
 
+    /**
+     * Sets the sink receiving the timings of gestures, animations and listener callbacks.
+     * Nothing is measured while it is null, the default.
+     *
+     * @param swipeMetricsSink sink, for example a {@link HistogramSwipeMetricsSink}
+     */
+    public void setSwipeMetricsSink(SwipeMetricsSink swipeMetricsSink) {
+        SwipeListViewListener listener = this.swipeListViewListener;
+        if (listener instanceof MeasuredSwipeListViewListener) {
+            listener = ((MeasuredSwipeListViewListener) listener).listener;
+        }
+        this.swipeMetricsSink = swipeMetricsSink;
+        touchListener.setMetricsSink(swipeMetricsSink);
+        setSwipeListViewListener(listener);
+    }
+
     /**
      * Resets scrolling
      */
@@ -557,6 +951,54 @@ public class SwipeListView extends ListView {
         touchListener.setLeftOffset(offsetLeft);
     }
 
+    /**
+     * Enable named trace sections around the touch handling, row moves, dismisses, item resets and recycling,
+     * to see them in systrace and Perfetto captures. Only available from API 18, disabled by default.
+     *
+     * @param enabled true to trace
+     */
+    public static void setTraceEnabled(boolean enabled) {
+        SwipeTrace.setEnabled(enabled);
+    }
+
+    /**
+     * Set how dismissed rows collapse
+     *
+     * @param swipeDismissAnimation SWIPE_DISMISS_ANIMATION_HEIGHT or SWIPE_DISMISS_ANIMATION_TRANSLATE
+     */
+    public void setSwipeDismissAnimation(int swipeDismissAnimation) {
+        touchListener.setDismissAnimation(swipeDismissAnimation);
+    }
+
+    /**
+     * Set the speed under which the list counts as at rest after a scroll, so rows can be swiped again.
+     * Default: the minimum fling velocity
+     *
+     * @param swipeScrollSettleVelocity pixels per second
+     */
+    public void setSwipeScrollSettleVelocity(float swipeScrollSettleVelocity) {
+        touchListener.setScrollSettleVelocity(swipeScrollSettleVelocity);
+    }
+
+    /**
+     * Set if the dragged row is drawn on a hardware layer while it moves and settles
+     *
+     * @param swipeDragLayer
+     */
+    public void setSwipeDragLayer(boolean swipeDragLayer) {
+        touchListener.setDragLayer(swipeDragLayer);
+    }
+
+    /**
+     * Set if onMove and onMoveProgress are called at most once per display frame, with the latest
+     * position, instead of once per touch event
+     *
+     * @param swipeCoalesceMove
+     */
+    public void setSwipeCoalesceMove(boolean swipeCoalesceMove) {
+        touchListener.setCoalesceMoves(swipeCoalesceMove);
+    }
+
     /**
      * Set if all items opened will be closed when the user moves the ListView
      *
@@ -575,6 +1017,27 @@ public class SwipeListView extends ListView {
         touchListener.setSwipeOpenOnLongPress(swipeOpenOnLongPress);
     }
 
+    /**
+     * Sets if a long press followed by a vertical drag selects every row crossed, scrolling when the finger
+     * reaches the top or bottom edge. It replaces opening on long press.
+     *
+     * @param swipeDragSelect
+     */
+    public void setSwipeDragSelect(boolean swipeDragSelect) {
+        touchListener.setDragSelect(swipeDragSelect);
+    }
+
+    /**
+     * Set if swipe and choice states follow the adapter item ids instead of the positions.
+     * Only used when the adapter has stable ids, so items can be inserted, removed or moved
+     * without the states getting out of sync.
+     *
+     * @param swipeStateByItemId
+     */
+    public void setSwipeStateByItemId(boolean swipeStateByItemId) {
+        touchListener.setStateByItemId(swipeStateByItemId);
+    }
+
     /**
      * Set swipe mode
      *
@@ -638,6 +1101,12 @@ public class SwipeListView extends ListView {
         final float x = ev.getX();
         final float y = ev.getY();
 
+        if (touchListener.isDragSelecting()) {
+            // Rows lose the gesture, the list gets the rest of it until the finger is lifted
+            touchListener.onTouch(this, ev);
+            return true;
+        }
+
         if (isEnabled() && touchListener.isSwipeEnabled()) {
 
             if (touchState == TOUCH_STATE_SCROLLING_X) {
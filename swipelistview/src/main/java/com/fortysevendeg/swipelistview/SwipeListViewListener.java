@@ -77,14 +77,16 @@ public interface SwipeListViewListener {
     void onClickBackView(int position);
 
     /**
-     * Called when user dismisses items
+     * Called when user dismisses items, by swipe or by dismiss(). The swipe and choice states of the
+     * items are already dropped, so don't call notifyItemRangeRemoved for them.
      * @param reverseSortedPositions Items dismissed
      */
     void onDismiss(int[] reverseSortedPositions);
 
     /**
      * Used when user want to change swipe list mode on some rows. Return SWIPE_MODE_DEFAULT
-     * if you don't want to change swipe list mode
+     * if you don't want to change swipe list mode. Called once per gesture, when the row is touched,
+     * unless the adapter implements SwipeModeAdapter and gives the mode
      * @param position position that you want to change
      * @return type
      */
@@ -20,38 +20,37 @@
 
 package com.fortysevendeg.swipelistview;
 
+import android.content.Context;
 import android.graphics.Rect;
 import android.os.Build;
-import android.os.Handler;
 import android.support.v4.view.MotionEventCompat;
+import android.support.v4.view.ViewCompat;
 import android.util.Log;
 import android.view.MotionEvent;
 import android.view.VelocityTracker;
 import android.view.View;
 import android.view.ViewConfiguration;
 import android.view.ViewGroup;
+import android.view.ViewParent;
+import android.view.WindowManager;
 import android.widget.AbsListView;
+import android.widget.ListAdapter;
 import android.widget.ListView;
 
-import com.nineoldandroids.animation.Animator;
-import com.nineoldandroids.animation.AnimatorListenerAdapter;
-import com.nineoldandroids.animation.ValueAnimator;
-import com.nineoldandroids.view.ViewHelper;
-
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 
-import static com.nineoldandroids.view.ViewHelper.setAlpha;
-import static com.nineoldandroids.view.ViewHelper.setTranslationX;
-import static com.nineoldandroids.view.ViewPropertyAnimator.animate;
-
 /**
  * Touch listener impl for the SwipeListView
  */
 public class SwipeListViewTouchListener implements View.OnTouchListener {
 
     private static final int DISPLACE_CHOICE = 80;
+    // Drag selection scrolls when the finger is in the top or bottom eighth of the list,
+    // up to two list heights per second at the very edge
+    private static final int DRAG_SELECT_EDGE_FRACTION = 8;
+    private static final float DRAG_SELECT_SCROLL_SPEED = 2f;
 
     private int swipeMode = SwipeListView.SWIPE_MODE_BOTH;
     private boolean swipeOpenOnLongPress = true;
@@ -79,14 +78,19 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
     private SwipeListView swipeListView;
     private int viewWidth = 1; // 1 and not 0 to prevent dividing by zero
 
-    private List<PendingDismissData> pendingDismisses = new ArrayList<PendingDismissData>();
+    private int[] pendingPositions = new int[8];
+    private int[] closedPositions = new int[8];
+    private View[] pendingViews = new View[8];
+    private int pendingCount = 0;
     private int dismissAnimationRefCount = 0;
 
     private float downX;
     private boolean swiping;
     private boolean swipingRight;
     private VelocityTracker velocityTracker;
-    private int downPosition;
+    private int downPosition = ListView.INVALID_POSITION;
+    private int downSwipeMode;
+    private int gesture;
     private View parentView;
     private View frontView;
     private View backView;
@@ -97,13 +101,142 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
     private int swipeActionLeft = SwipeListView.SWIPE_ACTION_REVEAL;
     private int swipeActionRight = SwipeListView.SWIPE_ACTION_REVEAL;
 
-    private List<Boolean> opened = new ArrayList<Boolean>();
-    private List<Boolean> openedRight = new ArrayList<Boolean>();
+    private SwipeStateStore states = new PositionSwipeStateStore();
+    private boolean stateByItemId = false;
     private boolean listViewMoving;
-    private List<Boolean> checked = new ArrayList<Boolean>();
     private int oldSwipeActionRight;
     private int oldSwipeActionLeft;
 
+    private FrameScheduler frameScheduler;
+    private float scrollSettleVelocity;
+    private int settleFirstPosition;
+    private int settleFirstTop;
+    private long settleFrameNanos;
+    private boolean dragSelect = false;
+    private boolean dragSelecting;
+    private boolean dragSelectChecked;
+    private int dragSelectPosition;
+    private int dragSelectX;
+    private int dragSelectY;
+    private long dragScrollNanos;
+    private float dragScrollRemainder;
+    private AnimationBackend animations;
+    private boolean coalesceMoves = false;
+    private boolean movePending;
+    private int movePosition;
+    private float moveDeltaX;
+
+    private int dismissAnimation = SwipeListView.SWIPE_DISMISS_ANIMATION_HEIGHT;
+    private boolean dragLayer = true;
+    private View layeredView;
+
+    private SwipeMetricsSink metricsSink;
+    private FrameMonitor swipeFrames;
+    private FrameMonitor collapseFrames;
+    private long downNanos;
+    private boolean swipeStartMeasured;
+    private long collapseStartNanos;
+    private RowCollapseAnimator rowCollapseAnimator;
+
+    private RowAnimationListener[] rowAnimationPool = new RowAnimationListener[4];
+    private int rowAnimationPoolSize = 0;
+
+    private final FrameScheduler.Callback moveDispatch = new FrameScheduler.Callback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            movePending = false;
+            dispatchMove(movePosition, moveDeltaX);
+        }
+    };
+
+    /**
+     * Enables swiping once the list has stopped scrolling. Each frame compares the first row position
+     * with the previous frame, until the list moves slower than scrollSettleVelocity.
+     */
+    private final FrameScheduler.Callback scrollSettleCheck = new FrameScheduler.Callback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            int firstPosition = swipeListView.getFirstVisiblePosition();
+            int firstTop = swipeListView.getChildCount() > 0 ? swipeListView.getChildAt(0).getTop() : 0;
+            if (settleFirstPosition == firstPosition) {
+                float maxDistance = scrollSettleVelocity * (frameTimeNanos - settleFrameNanos) / 1000000000f;
+                if (Math.abs(firstTop - settleFirstTop) <= maxDistance) {
+                    setEnabled(true);
+                    return;
+                }
+            }
+            settleFirstPosition = firstPosition;
+            settleFirstTop = firstTop;
+            settleFrameNanos = frameTimeNanos;
+            frameScheduler.post(this);
+        }
+    };
+
+    /**
+     * Scrolls the list while a drag selection holds the finger near its top or bottom edge. Each frame first
+     * selects the rows that the previous frame brought under the finger.
+     */
+    private final FrameScheduler.Callback dragSelectScroll = new FrameScheduler.Callback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            updateDragSelect();
+            float velocity = dragScrollVelocity();
+            if (velocity == 0 || !canScrollList(velocity > 0)) {
+                dragScrollNanos = 0;
+                dragScrollRemainder = 0;
+                return;
+            }
+            if (dragScrollNanos != 0) {
+                float distance = velocity * (frameTimeNanos - dragScrollNanos) / 1000000000f + dragScrollRemainder;
+                int deltaY = (int) distance;
+                dragScrollRemainder = distance - deltaY;
+                if (deltaY != 0) {
+                    View first = swipeListView.getChildAt(0);
+                    swipeListView.setSelectionFromTop(swipeListView.getFirstVisiblePosition(),
+                            first.getTop() - swipeListView.getListPaddingTop() - deltaY);
+                }
+            }
+            dragScrollNanos = frameTimeNanos;
+            frameScheduler.post(this);
+        }
+    };
+
+    private final View.OnClickListener frontClickListener = new View.OnClickListener() {
+        @Override
+        public void onClick(View v) {
+            swipeListView.onClickFrontView(swipeListView.getPositionForView(v));
+        }
+    };
+
+    private final View.OnLongClickListener frontLongClickListener = new View.OnLongClickListener() {
+        @Override
+        public boolean onLongClick(View v) {
+            int position = swipeListView.getPositionForView(v);
+            if (position == ListView.INVALID_POSITION) {
+                return false;
+            }
+            if (dragSelect && downPosition >= 0) {
+                startDragSelect(position);
+                return true;
+            }
+            if (swipeOpenOnLongPress) {
+                if (downPosition >= 0) {
+                    openAnimate(position);
+                }
+            } else {
+                swapChoiceState(position);
+            }
+            return false;
+        }
+    };
+
+    private final View.OnClickListener backClickListener = new View.OnClickListener() {
+        @Override
+        public void onClick(View v) {
+            swipeListView.onClickBackView(swipeListView.getPositionForView(v));
+        }
+    };
+
     /**
      * Constructor
      *
@@ -118,9 +251,24 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
         slop = vc.getScaledTouchSlop();
         minFlingVelocity = vc.getScaledMinimumFlingVelocity();
         maxFlingVelocity = vc.getScaledMaximumFlingVelocity();
+        scrollSettleVelocity = minFlingVelocity;
         configShortAnimationTime = swipeListView.getContext().getResources().getInteger(android.R.integer.config_shortAnimTime);
         animationTime = configShortAnimationTime;
         this.swipeListView = swipeListView;
+        frameScheduler = FrameScheduler.create(swipeListView);
+        animations = AnimationBackend.create(frameScheduler);
+        rowCollapseAnimator = new RowCollapseAnimator(swipeListView, frameScheduler, animations, new RowCollapseAnimator.Listener() {
+            @Override
+            public void onRowCollapsed(View row, boolean pendingDismiss) {
+                enableDisableViewGroup((ViewGroup) row, true);
+                if (pendingDismiss) {
+                    --dismissAnimationRefCount;
+                    if (dismissAnimationRefCount == 0) {
+                        removePendingDismisses();
+                    }
+                }
+            }
+        });
     }
 
     /**
@@ -137,30 +285,9 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
      *
      * @param frontView Front view
      */
-    private void setFrontView(View frontView, final int childPosition) {
+    private void setFrontView(View frontView) {
         this.frontView = frontView;
-        frontView.setOnClickListener(new View.OnClickListener() {
-            @Override
-            public void onClick(View v) {
-                swipeListView.onClickFrontView(downPosition);
-            }
-        });
-
-        frontView.setOnLongClickListener(new View.OnLongClickListener() {
-            @Override
-            public boolean onLongClick(View v) {
-                if (swipeOpenOnLongPress) {
-                    if (downPosition >= 0) {
-                        openAnimate(childPosition);
-                    }
-                } else {
-                    swapChoiceState(childPosition);
-                }
-                return false;
-            }
-
-        });
-}
+    }
 
     /**
      * Set current item's back view
@@ -169,12 +296,32 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
      */
     private void setBackView(View backView) {
         this.backView = backView;
-        backView.setOnClickListener(new View.OnClickListener() {
-            @Override
-            public void onClick(View v) {
-                swipeListView.onClickBackView(downPosition);
-            }
-        });
+    }
+
+    /**
+     * Get the views of a row. They are looked up the first time the row is seen and kept in a tag of the row,
+     * together with the shared click listeners, so later calls are a tag read.
+     *
+     * @param row list child
+     * @return row holder
+     */
+    protected SwipeRowHolder getRowHolder(View row) {
+        Object tag = row.getTag(R.id.swipelistview__row_holder);
+        if (tag instanceof SwipeRowHolder) {
+            return (SwipeRowHolder) tag;
+        }
+        SwipeRowHolder holder = new SwipeRowHolder(row.findViewById(swipeFrontView),
+                swipeBackView > 0 ? row.findViewById(swipeBackView) : null);
+        // Listeners resolve the row position when they fire, so they are never set again for the same view
+        if (holder.frontView != null) {
+            holder.frontView.setOnClickListener(frontClickListener);
+            holder.frontView.setOnLongClickListener(frontLongClickListener);
+        }
+        if (holder.backView != null) {
+            holder.backView.setOnClickListener(backClickListener);
+        }
+        row.setTag(R.id.swipelistview__row_holder, holder);
+        return holder;
     }
 
     /**
@@ -215,6 +362,70 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
         this.leftOffset = leftOffset;
     }
 
+    /**
+     * Sets how dismissed rows collapse
+     *
+     * @param dismissAnimation SWIPE_DISMISS_ANIMATION_HEIGHT or SWIPE_DISMISS_ANIMATION_TRANSLATE
+     */
+    public void setDismissAnimation(int dismissAnimation) {
+        this.dismissAnimation = dismissAnimation;
+    }
+
+    /**
+     * Sets the sink receiving gesture and animation timings
+     *
+     * @param metricsSink sink, or null to stop measuring
+     */
+    public void setMetricsSink(SwipeMetricsSink metricsSink) {
+        this.metricsSink = metricsSink;
+        if (metricsSink == null) {
+            if (swipeFrames != null) {
+                swipeFrames.stop();
+                collapseFrames.stop();
+            }
+        } else if (swipeFrames == null) {
+            WindowManager windowManager = (WindowManager) swipeListView.getContext().getSystemService(Context.WINDOW_SERVICE);
+            long refreshPeriod = (long) (1000000000 / windowManager.getDefaultDisplay().getRefreshRate());
+            swipeFrames = new FrameMonitor(frameScheduler);
+            swipeFrames.setRefreshPeriod(refreshPeriod);
+            collapseFrames = new FrameMonitor(frameScheduler);
+            collapseFrames.setRefreshPeriod(refreshPeriod);
+        }
+    }
+
+    /**
+     * Sets the speed under which a list that stopped scrolling counts as at rest, and swiping is enabled again
+     *
+     * @param scrollSettleVelocity pixels per second
+     */
+    public void setScrollSettleVelocity(float scrollSettleVelocity) {
+        this.scrollSettleVelocity = scrollSettleVelocity;
+    }
+
+    /**
+     * Sets if the dragged view is drawn on a hardware layer during the gesture and its settle animation
+     *
+     * @param dragLayer true to use a layer
+     */
+    public void setDragLayer(boolean dragLayer) {
+        this.dragLayer = dragLayer;
+        if (!dragLayer) {
+            releaseDragLayer();
+        }
+    }
+
+    /**
+     * Set if move callbacks are coalesced to one per display frame, with the latest position
+     *
+     * @param coalesceMoves
+     */
+    public void setCoalesceMoves(boolean coalesceMoves) {
+        if (!coalesceMoves) {
+            flushMove();
+        }
+        this.coalesceMoves = coalesceMoves;
+    }
+
     /**
      * Set if all item opened will be close when the user move ListView
      *
@@ -233,6 +444,23 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
         this.swipeOpenOnLongPress = swipeOpenOnLongPress;
     }
 
+    /**
+     * Set if a long press followed by a vertical drag selects every row crossed.
+     * It takes the place of the other long press actions.
+     *
+     * @param dragSelect
+     */
+    public void setDragSelect(boolean dragSelect) {
+        this.dragSelect = dragSelect;
+    }
+
+    /**
+     * @return true while a drag selection gesture is running
+     */
+    boolean isDragSelecting() {
+        return dragSelecting;
+    }
+
     /**
      * Sets the swipe mode
      *
@@ -242,6 +470,28 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
         this.swipeMode = swipeMode;
     }
 
+    /**
+     * Set if swipe and choice states are kept by adapter item id instead of by position.
+     * It only applies when the adapter has stable ids.
+     *
+     * @param stateByItemId
+     */
+    public void setStateByItemId(boolean stateByItemId) {
+        this.stateByItemId = stateByItemId;
+        updateStateStore();
+    }
+
+    /**
+     * Picks the state store for the current adapter. States are lost when the store kind changes.
+     */
+    protected void updateStateStore() {
+        ListAdapter adapter = swipeListView.getAdapter();
+        boolean byItemId = stateByItemId && adapter != null && adapter.hasStableIds();
+        if (byItemId != states instanceof StableIdSwipeStateStore) {
+            states = byItemId ? new StableIdSwipeStateStore(swipeListView) : new PositionSwipeStateStore();
+        }
+    }
+
     /**
      * Check is swiping is enabled
      *
@@ -306,26 +556,62 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
     }
 
     /**
-     * Adds new items when adapter is modified
+     * Called when adapter is modified. Drops the state of items past the end of the adapter.
+     * Row state is stored sparsely, so new items need no allocation.
      */
     public void resetItems() {
-        if (swipeListView.getAdapter() != null) {
-            int count = swipeListView.getAdapter().getCount();
-            for (int i = opened.size(); i <= count; i++) {
-                opened.add(false);
-                openedRight.add(false);
-                checked.add(false);
+        boolean trace = SwipeTrace.isEnabled();
+        if (trace) {
+            SwipeTrace.begin(SwipeTrace.RESET_ITEMS);
+        }
+        try {
+            if (swipeListView.getAdapter() != null) {
+                states.setCount(swipeListView.getAdapter().getCount());
+            }
+        } finally {
+            if (trace) {
+                SwipeTrace.end();
             }
         }
     }
 
+    /**
+     * Items were inserted in the adapter
+     *
+     * @param position first inserted position
+     * @param count    number of items
+     */
+    protected void onItemRangeInserted(int position, int count) {
+        states.insert(position, count);
+    }
+
+    /**
+     * Items were removed from the adapter
+     *
+     * @param position first removed position
+     * @param count    number of items
+     */
+    protected void onItemRangeRemoved(int position, int count) {
+        states.remove(position, count);
+    }
+
+    /**
+     * Item was moved in the adapter
+     *
+     * @param fromPosition old position
+     * @param toPosition   new position
+     */
+    protected void onItemMoved(int fromPosition, int toPosition) {
+        states.move(fromPosition, toPosition);
+    }
+
     /**
      * Open item
      *
      * @param position Position of list
      */
     protected void openAnimate(int position) {
-        final View child = swipeListView.getChildAt(position - swipeListView.getFirstVisiblePosition()).findViewById(swipeFrontView);
+        final View child = getRowHolder(swipeListView.getChildAt(position - swipeListView.getFirstVisiblePosition())).frontView;
 
         if (child != null) {
             openAnimate(child, position);
@@ -342,7 +628,7 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
             int firstVisibleChildPosition = swipeListView.getFirstVisiblePosition();
             final View childContainer = swipeListView.getChildAt(position - firstVisibleChildPosition);
             if (childContainer != null) {
-                final View child = childContainer.findViewById(swipeFrontView);
+                final View child = getRowHolder(childContainer).frontView;
 
                 if (child != null) {
                     closeAnimate(child, position);
@@ -351,6 +637,98 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
         }
     }
 
+    /**
+     * Open several items. Visible rows start their animations in the same pass, so they run on the same frames,
+     * and items off screen are opened in state only.
+     *
+     * @param positions Positions of list, headers, footers and positions past the end are ignored
+     */
+    protected void openAnimate(int[] positions) {
+        animateOpened(positions, true);
+    }
+
+    /**
+     * Close several items. Visible rows start their animations in the same pass, so they run on the same frames,
+     * and items off screen are closed in state only.
+     *
+     * @param positions Positions of list, headers, footers and positions past the end are ignored
+     */
+    protected void closeAnimate(int[] positions) {
+        animateOpened(positions, false);
+    }
+
+    private void animateOpened(int[] positions, boolean opened) {
+        if (viewWidth < 2) {
+            viewWidth = swipeListView.getWidth();
+        }
+        int start = swipeListView.getFirstVisiblePosition();
+        int end = swipeListView.getLastVisiblePosition();
+        int from = swipeListView.getHeaderViewsCount();
+        int to = swipeListView.getCount() - swipeListView.getFooterViewsCount();
+        for (int position : positions) {
+            if (position < from || position >= to || states.isOpened(position) == opened) {
+                continue;
+            }
+            if (position >= start && position <= end) {
+                View frontView = getRowHolder(swipeListView.getChildAt(position - start)).frontView;
+                // Headers, footers and rows without a front view can't be opened
+                if (frontView != null) {
+                    generateRevealAnimate(frontView, true, false, position);
+                }
+            } else if (opened) {
+                states.setOpened(position, true);
+                states.setOpenedRight(position, false);
+                swipeListView.onOpened(position, false);
+            } else {
+                states.setOpened(position, false);
+                swipeListView.onClosed(position, states.isOpenedRight(position));
+            }
+        }
+    }
+
+    /**
+     * Open or close several items without animation or callbacks, to apply a state that changed elsewhere.
+     * Only visible rows are moved.
+     *
+     * @param positions Positions of list, headers, footers and positions past the end are ignored
+     * @param opened    true to open, false to close
+     * @param right     if opened, open toward the right
+     */
+    protected void setOpenedImmediate(int[] positions, boolean opened, boolean right) {
+        if (viewWidth < 2) {
+            viewWidth = swipeListView.getWidth();
+        }
+        int start = swipeListView.getFirstVisiblePosition();
+        int end = swipeListView.getLastVisiblePosition();
+        int from = swipeListView.getHeaderViewsCount();
+        int to = swipeListView.getCount() - swipeListView.getFooterViewsCount();
+        for (int position : positions) {
+            if (position < from || position >= to) {
+                continue;
+            }
+            View frontView = null;
+            if (position >= start && position <= end) {
+                frontView = getRowHolder(swipeListView.getChildAt(position - start)).frontView;
+                if (frontView == null) {
+                    continue;
+                }
+            }
+            states.setOpened(position, opened);
+            if (opened) {
+                states.setOpenedRight(position, right);
+            }
+            if (frontView != null) {
+                float moveTo = 0;
+                if (opened) {
+                    moveTo = right ? viewWidth - rightOffset : -viewWidth + leftOffset;
+                }
+                animations.setTranslationX(frontView, (int) moveTo);
+                frontView.setClickable(opened);
+                frontView.setLongClickable(opened);
+            }
+        }
+    }
+
     /**
      * Swap choice state in item
      *
@@ -358,8 +736,8 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
      */
     private void swapChoiceState(int position) {
         int lastCount = getCountSelected();
-        boolean lastChecked = checked.get(position);
-        checked.set(position, !lastChecked);
+        boolean lastChecked = states.isChecked(position);
+        states.setChecked(position, !lastChecked);
         int count = lastChecked ? lastCount - 1 : lastCount + 1;
         if (lastCount == 0 && count == 1) {
             swipeListView.onChoiceStarted();
@@ -381,39 +759,178 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
      * Unselected choice state in item
      */
     protected void unselectedChoiceStates() {
+        int lastCount = states.getCheckedCount();
+        if (lastCount == 0) {
+            return;
+        }
+        if (hasItemCheckedStates()) {
+            for (int i = states.nextChecked(0); i >= 0; i = states.nextChecked(i + 1)) {
+                swipeListView.setItemChecked(i, false);
+            }
+        }
+        states.setChecked(0, swipeListView.getCount(), false);
+        onChoicesChanged(lastCount);
+    }
+
+    /**
+     * Select every item, headers and footers excepted
+     */
+    protected void selectAll() {
+        int lastCount = states.getCheckedCount();
+        int from = swipeListView.getHeaderViewsCount();
+        int to = swipeListView.getCount() - swipeListView.getFooterViewsCount();
+        states.setChecked(from, to, true);
+        syncItemChecked(from, to);
+        onChoicesChanged(lastCount);
+    }
+
+    /**
+     * Select items from a position to another, both included. The range is clamped to the items,
+     * headers and footers excepted
+     *
+     * @param fromPosition first position
+     * @param toPosition   last position
+     */
+    protected void selectRange(int fromPosition, int toPosition) {
+        int from = Math.max(fromPosition, swipeListView.getHeaderViewsCount());
+        int to = Math.min(toPosition + 1, swipeListView.getCount() - swipeListView.getFooterViewsCount());
+        if (from >= to) {
+            return;
+        }
+        int lastCount = states.getCheckedCount();
+        states.setChecked(from, to, true);
+        syncItemChecked(from, to);
+        onChoicesChanged(lastCount);
+    }
+
+    /**
+     * Invert the choice state of every item, headers and footers excepted
+     */
+    protected void invertSelection() {
+        int lastCount = states.getCheckedCount();
+        int from = swipeListView.getHeaderViewsCount();
+        int to = swipeListView.getCount() - swipeListView.getFooterViewsCount();
+        states.invertChecked(from, to);
+        syncItemChecked(from, to);
+        onChoicesChanged(lastCount);
+    }
+
+    /**
+     * Select or unselect several items. Positions of headers, footers or past the end are ignored
+     *
+     * @param positions positions in list
+     * @param checked   true to select
+     */
+    protected void setChecked(int[] positions, boolean checked) {
+        int lastCount = states.getCheckedCount();
+        boolean sync = hasItemCheckedStates();
+        int from = swipeListView.getHeaderViewsCount();
+        int to = swipeListView.getCount() - swipeListView.getFooterViewsCount();
+        for (int position : positions) {
+            if (position < from || position >= to) {
+                continue;
+            }
+            states.setChecked(position, checked);
+            if (sync) {
+                swipeListView.setItemChecked(position, checked);
+            }
+        }
+        onChoicesChanged(lastCount);
+    }
+
+    /**
+     * Called once after a bulk choice change. Starts or ends the choice mode, redraws the visible rows
+     * and notifies the listener.
+     *
+     * @param lastCount number of items selected before the change
+     */
+    private void onChoicesChanged(int lastCount) {
+        int count = states.getCheckedCount();
+        if (lastCount == 0 && count > 0) {
+            swipeListView.onChoiceStarted();
+            closeOpenedItems();
+            setActionsTo(SwipeListView.SWIPE_ACTION_CHOICE);
+        }
+        if (lastCount > 0 && count == 0) {
+            swipeListView.onChoiceEnded();
+            returnOldActions();
+        }
         int start = swipeListView.getFirstVisiblePosition();
-        int end = swipeListView.getLastVisiblePosition();
-        for (int i = 0; i < checked.size(); i++) {
-            if (checked.get(i) && i >= start && i <= end) {
-                reloadChoiceStateInView(swipeListView.getChildAt(i - start).findViewById(swipeFrontView), i);
+        for (int i = 0; i < swipeListView.getChildCount(); i++) {
+            View frontView = getRowHolder(swipeListView.getChildAt(i)).frontView;
+            if (frontView != null) {
+                reloadChoiceStateInView(frontView, start + i);
+            }
+        }
+        swipeListView.onChoicesChanged();
+    }
+
+    /**
+     * Copy the choice state of a range of items to the ListView checked states, if the list has a choice mode
+     */
+    private void syncItemChecked(int fromPosition, int toPosition) {
+        if (hasItemCheckedStates()) {
+            for (int i = fromPosition; i < toPosition; i++) {
+                swipeListView.setItemChecked(i, states.isChecked(i));
             }
-            checked.set(i, false);
         }
-        swipeListView.onChoiceEnded();
-        returnOldActions();
     }
 
     /**
-     * Dismiss an item.
+     * @return true if the ListView keeps checked states that must follow the choice states
+     */
+    private boolean hasItemCheckedStates() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB && swipeListView.getChoiceMode() != ListView.CHOICE_MODE_NONE;
+    }
+
+    /**
+     * Dismiss an item. onDismiss is called when its collapse ends, together with the other dismisses running.
      * @param position is the position of the item to delete.
      * @return 0 if the item is not visible. Otherwise return the height of the cell to dismiss.
      */
     protected int dismiss(int position) {
-        opened.remove(position);
-        checked.remove(position);
         int start = swipeListView.getFirstVisiblePosition();
         int end = swipeListView.getLastVisiblePosition();
-        View view = swipeListView.getChildAt(position - start);
-        ++dismissAnimationRefCount;
         if (position >= start && position <= end) {
-            performDismiss(view, position, false);
+            View view = swipeListView.getChildAt(position - start);
+            ++dismissAnimationRefCount;
+            performDismiss(view, position, true);
             return view.getHeight();
         } else {
-            pendingDismisses.add(new PendingDismissData(position, null));
+            addPendingDismiss(position, null);
+            if (dismissAnimationRefCount == 0) {
+                removePendingDismisses();
+            }
             return 0;
         }
     }
 
+    /**
+     * Dismiss several items at once. Visible items collapse together and items off screen skip
+     * the animation. onDismiss is called once, for all of them, when the last collapse ends.
+     *
+     * @param positions positions to delete, in ascending order
+     */
+    protected void dismiss(int[] positions) {
+        if (positions.length == 0) {
+            return;
+        }
+        ensurePendingCapacity(pendingCount + positions.length);
+        int start = swipeListView.getFirstVisiblePosition();
+        int end = swipeListView.getLastVisiblePosition();
+        for (int position : positions) {
+            if (position >= start && position <= end) {
+                ++dismissAnimationRefCount;
+                performDismiss(swipeListView.getChildAt(position - start), position, true);
+            } else {
+                addPendingDismiss(position, null);
+            }
+        }
+        if (dismissAnimationRefCount == 0) {
+            removePendingDismisses();
+        }
+    }
+
     /**
      * Draw cell for display if item is selected or not
      *
@@ -434,13 +951,13 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
      * @param frontView view to re-draw
      */
     protected void reloadSwipeStateInView(View frontView, int position) {
-        if (!opened.get(position)) {
-            setTranslationX(frontView, 0.0f);
+        if (!states.isOpened(position)) {
+            animations.setTranslationX(frontView, 0.0f);
         } else {
-            if (openedRight.get(position)) {
-                setTranslationX(frontView, swipeListView.getWidth());
+            if (states.isOpenedRight(position)) {
+                animations.setTranslationX(frontView, swipeListView.getWidth());
             } else {
-                setTranslationX(frontView, -swipeListView.getWidth());
+                animations.setTranslationX(frontView, -swipeListView.getWidth());
             }
         }
 
@@ -453,7 +970,7 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
      * @return
      */
     protected boolean isChecked(int position) {
-        return position < checked.size() && checked.get(position);
+        return states.isChecked(position);
     }
 
     /**
@@ -462,12 +979,7 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
      * @return
      */
     protected int getCountSelected() {
-        int count = 0;
-        for (int i = 0; i < checked.size(); i++) {
-            if (checked.get(i)) {
-                count++;
-            }
-        }
+        int count = states.getCheckedCount();
         if(SwipeListView.DEBUG){
             Log.d(SwipeListView.TAG, "selected: " + count);
         }
@@ -480,15 +992,41 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
      * @return
      */
     protected List<Integer> getPositionsSelected() {
-        List<Integer> list = new ArrayList<Integer>();
-        for (int i = 0; i < checked.size(); i++) {
-            if (checked.get(i)) {
-                list.add(i);
-            }
+        List<Integer> list = new ArrayList<Integer>(states.getCheckedCount());
+        for (int i = states.nextChecked(0); i >= 0; i = states.nextChecked(i + 1)) {
+            list.add(i);
         }
         return list;
     }
 
+    /**
+     * Copy positions selected, in ascending order, into an array
+     *
+     * @param positions array to fill
+     * @return number of positions selected. Only the first positions.length are copied
+     */
+    protected int getPositionsSelected(int[] positions) {
+        int count = 0;
+        for (int i = states.nextChecked(0); i >= 0; i = states.nextChecked(i + 1)) {
+            if (count < positions.length) {
+                positions[count] = i;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Get next position selected
+     *
+     * @param fromPosition first position to look at
+     * @return next position selected or ListView.INVALID_POSITION
+     */
+    protected int nextPositionSelected(int fromPosition) {
+        int position = states.nextChecked(fromPosition);
+        return position >= 0 ? position : ListView.INVALID_POSITION;
+    }
+
     /**
      * Open item
      *
@@ -496,7 +1034,7 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
      * @param position Position of list
      */
     private void openAnimate(View view, int position) {
-        if (!opened.get(position)) {
+        if (!states.isOpened(position)) {
             generateRevealAnimate(view, true, false, position);
         }
     }
@@ -508,7 +1046,7 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
      * @param position Position of list
      */
     private void closeAnimate(View view, int position) {
-        if (opened.get(position)) {
+        if (states.isOpened(position)) {
             generateRevealAnimate(view, true, false, position);
         }
     }
@@ -543,16 +1081,8 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
      * @param position list position
      */
     private void generateChoiceAnimate(final View view, final int position) {
-        animate(view)
-                .translationX(0)
-                .setDuration(animationTime)
-                .setListener(new AnimatorListenerAdapter() {
-                    @Override
-                    public void onAnimationEnd(Animator animation) {
-                        swipeListView.resetScrolling();
-                        resetCell();
-                    }
-                });
+        animations.animate(view, 0, animationTime,
+                obtainRowAnimation(SwipeListView.SWIPE_ACTION_CHOICE, view, false, false, position));
     }
 
     /**
@@ -565,9 +1095,9 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
      */
     private void generateDismissAnimate(final View view, final boolean swap, final boolean swapRight, final int position) {
         int moveTo = 0;
-        if (opened.get(position)) {
+        if (states.isOpened(position)) {
             if (!swap) {
-                moveTo = openedRight.get(position) ? (int) (viewWidth - rightOffset) : (int) (-viewWidth + leftOffset);
+                moveTo = states.isOpenedRight(position) ? (int) (viewWidth - rightOffset) : (int) (-viewWidth + leftOffset);
             }
         } else {
             if (swap) {
@@ -581,20 +1111,8 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
             alpha = 0;
         }
 
-        animate(view)
-                .translationX(moveTo)
-                .alpha(alpha)
-                .setDuration(animationTime)
-                .setListener(new AnimatorListenerAdapter() {
-                    @Override
-                    public void onAnimationEnd(Animator animation) {
-                        if (swap) {
-                            closeOpenedItems();
-                            performDismiss(view, position, true);
-                        }
-                        resetCell();
-                    }
-                });
+        animations.animate(view, moveTo, alpha, animationTime,
+                obtainRowAnimation(SwipeListView.SWIPE_ACTION_DISMISS, view, swap, swapRight, position));
 
     }
 
@@ -608,9 +1126,9 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
      */
     private void generateRevealAnimate(final View view, final boolean swap, final boolean swapRight, final int position) {
         int moveTo = 0;
-        if (opened.get(position)) {
+        if (states.isOpened(position)) {
             if (!swap) {
-                moveTo = openedRight.get(position) ? (int) (viewWidth - rightOffset) : (int) (-viewWidth + leftOffset);
+                moveTo = states.isOpenedRight(position) ? (int) (viewWidth - rightOffset) : (int) (-viewWidth + leftOffset);
             }
         } else {
             if (swap) {
@@ -618,35 +1136,150 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
             }
         }
 
-        animate(view)
-                .translationX(moveTo)
-                .setDuration(animationTime)
-                .setListener(new AnimatorListenerAdapter() {
-                    @Override
-                    public void onAnimationEnd(Animator animation) {
-                        swipeListView.resetScrolling();
-                        if (swap) {
-                            boolean aux = !opened.get(position);
-                            opened.set(position, aux);
-                            if (aux) {
-                                swipeListView.onOpened(position, swapRight);
-                                openedRight.set(position, swapRight);
-                            } else {
-                                swipeListView.onClosed(position, openedRight.get(position));
-                            }
-                        }
-                        resetCell();
-                    }
-                });
+        animations.animate(view, moveTo, animationTime,
+                obtainRowAnimation(SwipeListView.SWIPE_ACTION_REVEAL, view, swap, swapRight, position));
+    }
+
+    /**
+     * Called when a row animation ends
+     *
+     * @param action    SWIPE_ACTION_REVEAL, SWIPE_ACTION_DISMISS or SWIPE_ACTION_CHOICE
+     * @param view      animated view
+     * @param swap      If state changes
+     * @param swapRight If swap is true, this parameter tells if movement is toward right or left
+     * @param position  list position
+     * @param gesture   gesture that started the animation
+     */
+    private void onRowAnimationEnd(int action, View view, boolean swap, boolean swapRight, int position, int gesture) {
+        if (action == SwipeListView.SWIPE_ACTION_REVEAL) {
+            swipeListView.resetScrolling();
+            if (swap) {
+                boolean aux = !states.isOpened(position);
+                states.setOpened(position, aux);
+                if (aux) {
+                    swipeListView.onOpened(position, swapRight);
+                    states.setOpenedRight(position, swapRight);
+                } else {
+                    swipeListView.onClosed(position, states.isOpenedRight(position));
+                }
+            }
+        } else if (action == SwipeListView.SWIPE_ACTION_DISMISS) {
+            if (swap) {
+                closeOpenedItems();
+                performDismiss(view, position, true);
+            }
+        } else {
+            swipeListView.resetScrolling();
+        }
+        if (gesture == this.gesture) {
+            resetCell();
+        }
+    }
+
+    /**
+     * Take a row animation listener from the pool, or create one if all of them are running
+     */
+    private RowAnimationListener obtainRowAnimation(int action, View view, boolean swap, boolean swapRight, int position) {
+        RowAnimationListener listener;
+        if (rowAnimationPoolSize > 0) {
+            listener = rowAnimationPool[--rowAnimationPoolSize];
+            rowAnimationPool[rowAnimationPoolSize] = null;
+        } else {
+            listener = new RowAnimationListener();
+        }
+        listener.action = action;
+        listener.view = view;
+        listener.swap = swap;
+        listener.swapRight = swapRight;
+        listener.position = position;
+        listener.gesture = gesture;
+        return listener;
+    }
+
+    private void releaseRowAnimation(RowAnimationListener listener) {
+        listener.view = null;
+        if (rowAnimationPoolSize == rowAnimationPool.length) {
+            RowAnimationListener[] grown = new RowAnimationListener[rowAnimationPoolSize * 2];
+            System.arraycopy(rowAnimationPool, 0, grown, 0, rowAnimationPoolSize);
+            rowAnimationPool = grown;
+        }
+        rowAnimationPool[rowAnimationPoolSize++] = listener;
+    }
+
+    /**
+     * Reusable end listener for reveal, dismiss and choice animations. It goes back to the pool
+     * before the end is handled, so the animations started from there can take it again.
+     */
+    private final class RowAnimationListener implements AnimationBackend.EndAction {
+        int action;
+        View view;
+        boolean swap;
+        boolean swapRight;
+        int position;
+        int gesture;
+
+        @Override
+        public void onAnimationEnd() {
+            View view = this.view;
+            if (view == null) {
+                return;
+            }
+            int action = this.action;
+            boolean swap = this.swap;
+            boolean swapRight = this.swapRight;
+            int position = this.position;
+            int gesture = this.gesture;
+            releaseRowAnimation(this);
+            onRowAnimationEnd(action, view, swap, swapRight, position, gesture);
+        }
+    }
+
+    /**
+     * Draw the dragged view on a hardware layer, so moving and fading it doesn't redraw its content.
+     * Views that already have a layer are left as they are.
+     *
+     * @param view dragged view
+     */
+    private void promoteDragLayer(View view) {
+        if (view == layeredView) {
+            return;
+        }
+        releaseDragLayer();
+        if (ViewCompat.getLayerType(view) == ViewCompat.LAYER_TYPE_NONE) {
+            ViewCompat.setLayerType(view, ViewCompat.LAYER_TYPE_HARDWARE, null);
+            layeredView = view;
+        }
+    }
+
+    private void releaseDragLayer() {
+        if (layeredView != null) {
+            ViewCompat.setLayerType(layeredView, ViewCompat.LAYER_TYPE_NONE, null);
+            layeredView = null;
+        }
     }
 
     private void resetCell() {
+        releaseDragLayer();
+        if (metricsSink != null && swipeFrames.isRunning()) {
+            swipeFrames.stop();
+            boolean sinkTrace = SwipeTrace.isEnabled();
+            if (sinkTrace) {
+                SwipeTrace.begin(SwipeTrace.METRICS_SINK);
+            }
+            try {
+                metricsSink.onSwipeFrames(swipeFrames.getFrames(), swipeFrames.getJankyFrames());
+            } finally {
+                if (sinkTrace) {
+                    SwipeTrace.end();
+                }
+            }
+        }
         if (downPosition != ListView.INVALID_POSITION) {
             if (swipeCurrentAction == SwipeListView.SWIPE_ACTION_CHOICE) {
                 backView.setVisibility(View.VISIBLE);
             }
-            frontView.setClickable(opened.get(downPosition));
-            frontView.setLongClickable(opened.get(downPosition));
+            frontView.setClickable(states.isOpened(downPosition));
+            frontView.setLongClickable(states.isOpened(downPosition));
             frontView = null;
             backView = null;
             downPosition = ListView.INVALID_POSITION;
@@ -675,23 +1308,24 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
 
             @Override
             public void onScrollStateChanged(AbsListView absListView, int scrollState) {
-                setEnabled(scrollState != AbsListView.OnScrollListener.SCROLL_STATE_TOUCH_SCROLL);
                 if (swipeClosesAllItemsWhenListMoves && scrollState == SCROLL_STATE_TOUCH_SCROLL) {
                     closeOpenedItems();
                 }
                 if (scrollState == SCROLL_STATE_TOUCH_SCROLL) {
                     listViewMoving = true;
-                    setEnabled(false);
                 }
-                if (scrollState != AbsListView.OnScrollListener.SCROLL_STATE_FLING && scrollState != SCROLL_STATE_TOUCH_SCROLL) {
+                if (scrollState != SCROLL_STATE_IDLE) {
+                    // Swiping waits until the list is at rest again
+                    frameScheduler.remove(scrollSettleCheck);
+                    setEnabled(false);
+                } else {
                     listViewMoving = false;
                     downPosition = ListView.INVALID_POSITION;
                     swipeListView.resetScrolling();
-                    new Handler().postDelayed(new Runnable() {
-                        public void run() {
-                            setEnabled(true);
-                        }
-                    }, 500);
+                    settleFirstPosition = swipeListView.getFirstVisiblePosition();
+                    settleFirstTop = swipeListView.getChildCount() > 0 ? swipeListView.getChildAt(0).getTop() : 0;
+                    settleFrameNanos = System.nanoTime();
+                    frameScheduler.post(scrollSettleCheck);
                 }
             }
 
@@ -726,19 +1360,40 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
     }
 
     /**
-     * Close all opened items
+     * Close all opened items. Visible rows animate, rows off screen are closed in state at once.
+     * onClosed is called for every row, at the end of the animation for visible ones.
      */
     void closeOpenedItems() {
-        if (opened != null) {
+        boolean trace = SwipeTrace.isEnabled();
+        if (trace) {
+            SwipeTrace.begin(SwipeTrace.CLOSE_OPENED_ITEMS);
+        }
+        try {
+            if (states.getOpenedCount() == 0) {
+                return;
+            }
             int start = swipeListView.getFirstVisiblePosition();
             int end = swipeListView.getLastVisiblePosition();
-            for (int i = start; i <= end; i++) {
-                if (opened.get(i)) {
-                    closeAnimate(swipeListView.getChildAt(i - start).findViewById(swipeFrontView), i);
+            // Rows off screen have no view to animate, they are bound closed when they come back
+            if (closedPositions.length < states.getOpenedCount()) {
+                closedPositions = new int[states.getOpenedCount()];
+            }
+            int closed = states.closeOpenedOutside(start, end, closedPositions);
+            for (int i = 0; i < closed; i++) {
+                swipeListView.onClosed(closedPositions[i], states.isOpenedRight(closedPositions[i]));
+            }
+            int remaining = states.getOpenedCount();
+            for (int i = start; i <= end && remaining > 0; i++) {
+                if (states.isOpened(i)) {
+                    closeAnimate(getRowHolder(swipeListView.getChildAt(i - start)).frontView, i);
+                    remaining--;
                 }
             }
+        } finally {
+            if (trace) {
+                SwipeTrace.end();
+            }
         }
-
     }
 
     /**
@@ -746,6 +1401,42 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
      */
     @Override
     public boolean onTouch(View view, MotionEvent motionEvent) {
+        if (!SwipeTrace.isEnabled()) {
+            return handleTouch(view, motionEvent);
+        }
+        switch (MotionEventCompat.getActionMasked(motionEvent)) {
+            case MotionEvent.ACTION_DOWN:
+                SwipeTrace.begin(SwipeTrace.TOUCH_DOWN);
+                break;
+            case MotionEvent.ACTION_MOVE:
+                SwipeTrace.begin(SwipeTrace.TOUCH_MOVE);
+                break;
+            case MotionEvent.ACTION_UP:
+                SwipeTrace.begin(SwipeTrace.TOUCH_UP);
+                break;
+            default:
+                SwipeTrace.begin(SwipeTrace.TOUCH_OTHER);
+                break;
+        }
+        try {
+            return handleTouch(view, motionEvent);
+        } finally {
+            SwipeTrace.end();
+        }
+    }
+
+    /**
+     * Handles a touch event of the list
+     *
+     * @param view        list
+     * @param motionEvent event
+     * @return true if the event is consumed
+     */
+    private boolean handleTouch(View view, MotionEvent motionEvent) {
+        if (dragSelecting) {
+            return handleDragSelect(motionEvent);
+        }
+
         if (!isSwipeEnabled()) {
             return false;
         }
@@ -759,39 +1450,40 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
                 if (paused && downPosition != ListView.INVALID_POSITION) {
                     return false;
                 }
+                // The row of the previous gesture may still be animating, its end won't reset this one
+                resetCell();
+                ++gesture;
                 swipeCurrentAction = SwipeListView.SWIPE_ACTION_NONE;
 
-                int childCount = swipeListView.getChildCount();
-                int[] listViewCoords = new int[2];
-                swipeListView.getLocationOnScreen(listViewCoords);
-                int x = (int) motionEvent.getRawX() - listViewCoords[0];
-                int y = (int) motionEvent.getRawY() - listViewCoords[1];
-                View child;
-                for (int i = 0; i < childCount; i++) {
-                    child = swipeListView.getChildAt(i);
-                    child.getHitRect(rect);
-
-                    int childPosition = swipeListView.getPositionForView(child);
+                int childIndex = childIndexAt((int) motionEvent.getX(), (int) motionEvent.getY());
+                if (childIndex >= 0) {
+                    View child = swipeListView.getChildAt(childIndex);
+                    int childPosition = swipeListView.getFirstVisiblePosition() + childIndex;
 
                     // dont allow swiping if this is on the header or footer or IGNORE_ITEM_VIEW_TYPE or enabled is false on the adapter
                     boolean allowSwipe = swipeListView.getAdapter().isEnabled(childPosition) && swipeListView.getAdapter().getItemViewType(childPosition) >= 0;
 
-                    if (allowSwipe && rect.contains(x, y)) {
+                    if (allowSwipe) {
+                        SwipeRowHolder holder = getRowHolder(child);
                         setParentView(child);
-                        setFrontView(child.findViewById(swipeFrontView), childPosition);
+                        setFrontView(holder.frontView);
 
                         downX = motionEvent.getRawX();
                         downPosition = childPosition;
+                        downSwipeMode = resolveSwipeMode(childPosition);
+                        if (metricsSink != null) {
+                            downNanos = System.nanoTime();
+                            swipeStartMeasured = false;
+                        }
 
-                        frontView.setClickable(!opened.get(downPosition));
-                        frontView.setLongClickable(!opened.get(downPosition));
+                        frontView.setClickable(!states.isOpened(downPosition));
+                        frontView.setLongClickable(!states.isOpened(downPosition));
 
                         velocityTracker = VelocityTracker.obtain();
                         velocityTracker.addMovement(motionEvent);
-                        if (swipeBackView > 0) {
-                            setBackView(child.findViewById(swipeBackView));
+                        if (holder.backView != null) {
+                            setBackView(holder.backView);
                         }
-                        break;
                     }
                 }
                 view.onTouchEvent(motionEvent);
@@ -800,6 +1492,7 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
 
             case MotionEvent.ACTION_UP: {
                 if (velocityTracker == null || !swiping || downPosition == ListView.INVALID_POSITION) {
+                    downNanos = 0;
                     break;
                 }
 
@@ -807,11 +1500,11 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
                 velocityTracker.addMovement(motionEvent);
                 velocityTracker.computeCurrentVelocity(1000);
                 float velocityX = Math.abs(velocityTracker.getXVelocity());
-                if (!opened.get(downPosition)) {
-                    if (swipeMode == SwipeListView.SWIPE_MODE_LEFT && velocityTracker.getXVelocity() > 0) {
+                if (!states.isOpened(downPosition)) {
+                    if (downSwipeMode == SwipeListView.SWIPE_MODE_LEFT && velocityTracker.getXVelocity() > 0) {
                         velocityX = 0;
                     }
-                    if (swipeMode == SwipeListView.SWIPE_MODE_RIGHT && velocityTracker.getXVelocity() < 0) {
+                    if (downSwipeMode == SwipeListView.SWIPE_MODE_RIGHT && velocityTracker.getXVelocity() < 0) {
                         velocityX = 0;
                     }
                 }
@@ -825,9 +1518,9 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
                     }
                     if (swapRight != swipingRight && swipeActionLeft != swipeActionRight) {
                         swap = false;
-                    } else if (opened.get(downPosition) && openedRight.get(downPosition) && swapRight) {
+                    } else if (states.isOpened(downPosition) && states.isOpenedRight(downPosition) && swapRight) {
                         swap = false;
-                    } else if (opened.get(downPosition) && !openedRight.get(downPosition) && !swapRight) {
+                    } else if (states.isOpened(downPosition) && !states.isOpenedRight(downPosition) && !swapRight) {
                         swap = false;
                     } else {
                         swap = true;
@@ -838,6 +1531,7 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
                 }
 
 
+                flushMove();
                 generateAnimate(frontView, swap, swapRight, downPosition);
                 if (swipeCurrentAction == SwipeListView.SWIPE_ACTION_CHOICE) {
                     swapChoiceState(downPosition);
@@ -848,10 +1542,29 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
                 downX = 0;
                 // change clickable front view
 //                if (swap) {
-//                    frontView.setClickable(opened.get(downPosition));
-//                    frontView.setLongClickable(opened.get(downPosition));
+//                    frontView.setClickable(states.isOpened(downPosition));
+//                    frontView.setLongClickable(states.isOpened(downPosition));
 //                }
                 swiping = false;
+                downNanos = 0;
+                break;
+            }
+
+            case MotionEvent.ACTION_CANCEL: {
+                if (velocityTracker == null || !swiping || downPosition == ListView.INVALID_POSITION) {
+                    downNanos = 0;
+                    break;
+                }
+
+                // The gesture was taken away, the row goes back without changing its state
+                flushMove();
+                generateAnimate(frontView, false, false, downPosition);
+
+                velocityTracker.recycle();
+                velocityTracker = null;
+                downX = 0;
+                swiping = false;
+                downNanos = 0;
                 break;
             }
 
@@ -860,24 +1573,18 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
                     break;
                 }
 
+                // Every sample is tracked, addMovement also takes the batched historical ones, but the velocity
+                // is only computed while the swipe direction is undecided and again at ACTION_UP
                 velocityTracker.addMovement(motionEvent);
-                velocityTracker.computeCurrentVelocity(1000);
-                float velocityX = Math.abs(velocityTracker.getXVelocity());
-                float velocityY = Math.abs(velocityTracker.getYVelocity());
 
                 float deltaX = motionEvent.getRawX() - downX;
                 float deltaMode = Math.abs(deltaX);
 
-                int swipeMode = this.swipeMode;
-                int changeSwipeMode = swipeListView.changeSwipeMode(downPosition);
-                if (changeSwipeMode >= 0) {
-                    swipeMode = changeSwipeMode;
-                }
-
+                int swipeMode = downSwipeMode;
                 if (swipeMode == SwipeListView.SWIPE_MODE_NONE) {
                     deltaMode = 0;
                 } else if (swipeMode != SwipeListView.SWIPE_MODE_BOTH) {
-                    if (opened.get(downPosition)) {
+                    if (states.isOpened(downPosition)) {
                         if (swipeMode == SwipeListView.SWIPE_MODE_LEFT && deltaX < 0) {
                             deltaMode = 0;
                         } else if (swipeMode == SwipeListView.SWIPE_MODE_RIGHT && deltaX > 0) {
@@ -891,13 +1598,13 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
                         }
                     }
                 }
-                if (deltaMode > slop && swipeCurrentAction == SwipeListView.SWIPE_ACTION_NONE && velocityY < velocityX) {
+                if (deltaMode > slop && swipeCurrentAction == SwipeListView.SWIPE_ACTION_NONE && isMovingHorizontally()) {
                     swiping = true;
                     swipingRight = (deltaX > 0);
                     if(SwipeListView.DEBUG){
                         Log.d(SwipeListView.TAG, "deltaX: " + deltaX + " - swipingRight: " + swipingRight);
                     }
-                    if (opened.get(downPosition)) {
+                    if (states.isOpened(downPosition)) {
                         swipeListView.onStartClose(downPosition, swipingRight);
                         swipeCurrentAction = SwipeListView.SWIPE_ACTION_REVEAL;
                     } else {
@@ -919,14 +1626,15 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
                     cancelEvent.setAction(MotionEvent.ACTION_CANCEL |
                             (MotionEventCompat.getActionIndex(motionEvent) << MotionEventCompat.ACTION_POINTER_INDEX_SHIFT));
                     swipeListView.onTouchEvent(cancelEvent);
+                    cancelEvent.recycle();
                     if (swipeCurrentAction == SwipeListView.SWIPE_ACTION_CHOICE) {
                         backView.setVisibility(View.GONE);
                     }
                 }
 
                 if (swiping && downPosition != ListView.INVALID_POSITION) {
-                    if (opened.get(downPosition)) {
-                        deltaX += openedRight.get(downPosition) ? viewWidth - rightOffset : -viewWidth + leftOffset;
+                    if (states.isOpened(downPosition)) {
+                        deltaX += states.isOpenedRight(downPosition) ? viewWidth - rightOffset : -viewWidth + leftOffset;
                     }
                     move(deltaX);
                     return true;
@@ -937,6 +1645,182 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
         return false;
     }
 
+    /**
+     * Start a drag selection from a long pressed row. The row takes the opposite of its choice state,
+     * and every row the finger crosses afterwards takes the same state.
+     *
+     * @param position long pressed position
+     */
+    private void startDragSelect(int position) {
+        dragSelecting = true;
+        dragSelectChecked = !states.isChecked(position);
+        dragSelectPosition = position;
+        View child = swipeListView.getChildAt(position - swipeListView.getFirstVisiblePosition());
+        dragSelectX = (child.getLeft() + child.getRight()) / 2;
+        dragSelectY = (child.getTop() + child.getBottom()) / 2;
+        dragScrollNanos = 0;
+        dragScrollRemainder = 0;
+        int lastCount = states.getCheckedCount();
+        states.setChecked(position, position + 1, dragSelectChecked);
+        syncItemChecked(position, position + 1);
+        onChoicesChanged(lastCount);
+        ViewParent parent = swipeListView.getParent();
+        if (parent != null) {
+            parent.requestDisallowInterceptTouchEvent(true);
+        }
+    }
+
+    /**
+     * Handles a touch event of a drag selection
+     *
+     * @param motionEvent event
+     * @return true, the gesture belongs to the drag selection until it ends
+     */
+    private boolean handleDragSelect(MotionEvent motionEvent) {
+        switch (MotionEventCompat.getActionMasked(motionEvent)) {
+            case MotionEvent.ACTION_MOVE:
+                dragSelectX = (int) motionEvent.getX();
+                dragSelectY = (int) motionEvent.getY();
+                updateDragSelect();
+                if (dragScrollVelocity() != 0) {
+                    frameScheduler.post(dragSelectScroll);
+                }
+                break;
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                dragSelecting = false;
+                downNanos = 0;
+                frameScheduler.remove(dragSelectScroll);
+                if (velocityTracker != null) {
+                    velocityTracker.recycle();
+                    velocityTracker = null;
+                }
+                resetCell();
+                break;
+            default:
+                break;
+        }
+        return true;
+    }
+
+    /**
+     * Select the rows between the last row reached by the drag selection and the row under the finger,
+     * in a single bulk update. Rows skipped by a fast move are selected too.
+     */
+    private void updateDragSelect() {
+        int childCount = swipeListView.getChildCount();
+        if (childCount == 0) {
+            return;
+        }
+        View first = swipeListView.getChildAt(0);
+        View last = swipeListView.getChildAt(childCount - 1);
+        // Above or below the rows, the finger counts as being on the first or last one
+        int x = Math.max(first.getLeft(), Math.min(dragSelectX, first.getRight() - 1));
+        int y = Math.max(first.getTop(), Math.min(dragSelectY, last.getBottom() - 1));
+        int childIndex = childIndexAt(x, y);
+        if (childIndex < 0) {
+            return;
+        }
+        int position = swipeListView.getFirstVisiblePosition() + childIndex;
+        position = Math.max(swipeListView.getHeaderViewsCount(),
+                Math.min(position, swipeListView.getCount() - swipeListView.getFooterViewsCount() - 1));
+        if (position == dragSelectPosition) {
+            return;
+        }
+        int from = Math.min(position, dragSelectPosition);
+        int to = Math.max(position, dragSelectPosition) + 1;
+        dragSelectPosition = position;
+        int lastCount = states.getCheckedCount();
+        states.setChecked(from, to, dragSelectChecked);
+        syncItemChecked(from, to);
+        onChoicesChanged(lastCount);
+    }
+
+    /**
+     * Speed at which a drag selection scrolls, growing as the finger goes deeper into the top or bottom edge
+     *
+     * @return pixels per second, positive toward the end of the list, or 0 away from the edges
+     */
+    private float dragScrollVelocity() {
+        int height = swipeListView.getHeight();
+        int edge = Math.max(1, height / DRAG_SELECT_EDGE_FRACTION);
+        float depth;
+        if (dragSelectY < edge) {
+            depth = Math.max(-1f, (dragSelectY - edge) / (float) edge);
+        } else if (dragSelectY > height - edge) {
+            depth = Math.min(1f, (dragSelectY - height + edge) / (float) edge);
+        } else {
+            return 0;
+        }
+        return depth * height * DRAG_SELECT_SCROLL_SPEED;
+    }
+
+    /**
+     * Check if the list has rows left to scroll into view
+     *
+     * @param down true toward the end of the list
+     * @return true if it can scroll
+     */
+    private boolean canScrollList(boolean down) {
+        int childCount = swipeListView.getChildCount();
+        if (childCount == 0) {
+            return false;
+        }
+        if (down) {
+            return swipeListView.getFirstVisiblePosition() + childCount < swipeListView.getCount()
+                    || swipeListView.getChildAt(childCount - 1).getBottom() > swipeListView.getHeight() - swipeListView.getListPaddingBottom();
+        }
+        return swipeListView.getFirstVisiblePosition() > 0
+                || swipeListView.getChildAt(0).getTop() < swipeListView.getListPaddingTop();
+    }
+
+    /**
+     * Get the swipe mode of a row. It is resolved once per gesture, at ACTION_DOWN.
+     *
+     * @param position position in list
+     * @return swipe mode
+     */
+    private int resolveSwipeMode(int position) {
+        int changeSwipeMode = swipeListView.changeSwipeMode(position);
+        return changeSwipeMode >= 0 ? changeSwipeMode : swipeMode;
+    }
+
+    /**
+     * Check if the gesture is faster horizontally than vertically
+     *
+     * @return true if horizontal velocity is greater
+     */
+    private boolean isMovingHorizontally() {
+        velocityTracker.computeCurrentVelocity(1000);
+        return Math.abs(velocityTracker.getYVelocity()) < Math.abs(velocityTracker.getXVelocity());
+    }
+
+    /**
+     * Find the child under a point. ListView children are laid out top to bottom, so they are binary searched by
+     * their vertical bounds and only the hit rect of the candidate is checked.
+     *
+     * @param x x in list coordinates
+     * @param y y in list coordinates
+     * @return child index or -1
+     */
+    private int childIndexAt(int x, int y) {
+        int low = 0;
+        int high = swipeListView.getChildCount() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            View child = swipeListView.getChildAt(middle);
+            if (y < child.getTop()) {
+                high = middle - 1;
+            } else if (y >= child.getBottom()) {
+                low = middle + 1;
+            } else {
+                child.getHitRect(rect);
+                return rect.contains(x, y) ? middle : -1;
+            }
+        }
+        return -1;
+    }
+
     private void setActionsTo(int action) {
         oldSwipeActionRight = swipeActionRight;
         oldSwipeActionLeft = swipeActionLeft;
@@ -955,67 +1839,110 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
      * @param deltaX delta
      */
     public void move(float deltaX) {
-        swipeListView.onMove(downPosition, deltaX);
-        float posX = ViewHelper.getX(frontView);
-        if (opened.get(downPosition)) {
-            posX += openedRight.get(downPosition) ? -viewWidth + rightOffset : viewWidth - leftOffset;
+        boolean trace = SwipeTrace.isEnabled();
+        if (trace) {
+            SwipeTrace.begin(SwipeTrace.MOVE);
         }
-        if (posX > 0 && !swipingRight) {
-            if(SwipeListView.DEBUG){
-                Log.d(SwipeListView.TAG, "change to right");
-            }
-            swipingRight = !swipingRight;
-            swipeCurrentAction = swipeActionRight;
-            if (swipeCurrentAction == SwipeListView.SWIPE_ACTION_CHOICE) {
-                backView.setVisibility(View.GONE);
+        try {
+            if (coalesceMoves) {
+                movePosition = downPosition;
+                moveDeltaX = deltaX;
+                if (!movePending) {
+                    movePending = true;
+                    frameScheduler.post(moveDispatch);
+                }
             } else {
-                backView.setVisibility(View.VISIBLE);
+                dispatchMove(downPosition, deltaX);
             }
-        }
-        if (posX < 0 && swipingRight) {
-            if(SwipeListView.DEBUG){
-                Log.d(SwipeListView.TAG, "change to left");
+            float posX = animations.getX(frontView);
+            if (states.isOpened(downPosition)) {
+                posX += states.isOpenedRight(downPosition) ? -viewWidth + rightOffset : viewWidth - leftOffset;
             }
-            swipingRight = !swipingRight;
-            swipeCurrentAction = swipeActionLeft;
-            if (swipeCurrentAction == SwipeListView.SWIPE_ACTION_CHOICE) {
-                backView.setVisibility(View.GONE);
+            if (posX > 0 && !swipingRight) {
+                if(SwipeListView.DEBUG){
+                    Log.d(SwipeListView.TAG, "change to right");
+                }
+                swipingRight = !swipingRight;
+                swipeCurrentAction = swipeActionRight;
+                if (swipeCurrentAction == SwipeListView.SWIPE_ACTION_CHOICE) {
+                    backView.setVisibility(View.GONE);
+                } else {
+                    backView.setVisibility(View.VISIBLE);
+                }
+            }
+            if (posX < 0 && swipingRight) {
+                if(SwipeListView.DEBUG){
+                    Log.d(SwipeListView.TAG, "change to left");
+                }
+                swipingRight = !swipingRight;
+                swipeCurrentAction = swipeActionLeft;
+                if (swipeCurrentAction == SwipeListView.SWIPE_ACTION_CHOICE) {
+                    backView.setVisibility(View.GONE);
+                } else {
+                    backView.setVisibility(View.VISIBLE);
+                }
+            }
+            // A sink set during the gesture has no down time to measure from
+            if (metricsSink != null && !swipeStartMeasured && downNanos != 0) {
+                swipeStartMeasured = true;
+                boolean sinkTrace = SwipeTrace.isEnabled();
+                if (sinkTrace) {
+                    SwipeTrace.begin(SwipeTrace.METRICS_SINK);
+                }
+                try {
+                    metricsSink.onSwipeStartLatency(System.nanoTime() - downNanos);
+                } finally {
+                    if (sinkTrace) {
+                        SwipeTrace.end();
+                    }
+                }
+                swipeFrames.start();
+            }
+            if (dragLayer) {
+                promoteDragLayer(swipeCurrentAction == SwipeListView.SWIPE_ACTION_DISMISS ? parentView : frontView);
+            }
+            if (swipeCurrentAction == SwipeListView.SWIPE_ACTION_DISMISS) {
+                animations.setTranslationX(parentView, deltaX);
+                animations.setAlpha(parentView, Math.max(0f, Math.min(1f,
+                        1f - 2f * Math.abs(deltaX) / viewWidth)));
+            } else if (swipeCurrentAction == SwipeListView.SWIPE_ACTION_CHOICE) {
+                if ((swipingRight && deltaX > 0 && posX < DISPLACE_CHOICE)
+                        || (!swipingRight && deltaX < 0 && posX > -DISPLACE_CHOICE)
+                        || (swipingRight && deltaX < DISPLACE_CHOICE)
+                        || (!swipingRight && deltaX > -DISPLACE_CHOICE)) {
+                    animations.setTranslationX(frontView, deltaX);
+                }
             } else {
-                backView.setVisibility(View.VISIBLE);
+                animations.setTranslationX(frontView, deltaX);
             }
-        }
-        if (swipeCurrentAction == SwipeListView.SWIPE_ACTION_DISMISS) {
-            setTranslationX(parentView, deltaX);
-            setAlpha(parentView, Math.max(0f, Math.min(1f,
-                    1f - 2f * Math.abs(deltaX) / viewWidth)));
-        } else if (swipeCurrentAction == SwipeListView.SWIPE_ACTION_CHOICE) {
-            if ((swipingRight && deltaX > 0 && posX < DISPLACE_CHOICE)
-                    || (!swipingRight && deltaX < 0 && posX > -DISPLACE_CHOICE)
-                    || (swipingRight && deltaX < DISPLACE_CHOICE)
-                    || (!swipingRight && deltaX > -DISPLACE_CHOICE)) {
-                setTranslationX(frontView, deltaX);
+        } finally {
+            if (trace) {
+                SwipeTrace.end();
             }
-        } else {
-            setTranslationX(frontView, deltaX);
         }
     }
 
     /**
-     * Class that saves pending dismiss data
+     * Notifies the move listeners
+     *
+     * @param position item moving
+     * @param deltaX   current position
      */
-    class PendingDismissData implements Comparable<PendingDismissData> {
-        public int position;
-        public View view;
-
-        public PendingDismissData(int position, View view) {
-            this.position = position;
-            this.view = view;
-        }
+    private void dispatchMove(int position, float deltaX) {
+        swipeListView.onMove(position, deltaX);
+        float distance = deltaX > 0 ? viewWidth - rightOffset : viewWidth - leftOffset;
+        float progress = distance > 0 ? Math.max(-1f, Math.min(1f, deltaX / distance)) : 0;
+        swipeListView.onMoveProgress(position, deltaX, progress);
+    }
 
-        @Override
-        public int compareTo(PendingDismissData other) {
-            // Sort by descending position
-            return other.position - position;
+    /**
+     * Delivers now a move waiting for the next frame, so it never arrives after the gesture ends
+     */
+    private void flushMove() {
+        if (movePending) {
+            movePending = false;
+            frameScheduler.remove(moveDispatch);
+            dispatchMove(movePosition, moveDeltaX);
         }
     }
 
@@ -1026,95 +1953,121 @@ public class SwipeListViewTouchListener implements View.OnTouchListener {
      * @param dismissPosition Position of list
      */
     protected void performDismiss(final View dismissView, final int dismissPosition, boolean doPendingDismiss) {
-        enableDisableViewGroup((ViewGroup) dismissView, false);
-        final ViewGroup.LayoutParams lp = dismissView.getLayoutParams();
-        final int originalHeight = dismissView.getHeight();
-
-        ValueAnimator animator = ValueAnimator.ofInt(originalHeight, 1).setDuration(animationTime);
-
-        if (doPendingDismiss) {
-            animator.addListener(new AnimatorListenerAdapter() {
-                @Override
-                public void onAnimationEnd(Animator animation) {
-                    --dismissAnimationRefCount;
-                    if (dismissAnimationRefCount == 0) {
-                        removePendingDismisses(originalHeight);
-                    }
-                }
-            });
+        boolean trace = SwipeTrace.isEnabled();
+        if (trace) {
+            SwipeTrace.begin(SwipeTrace.PERFORM_DISMISS);
         }
-
-        animator.addListener(new AnimatorListenerAdapter() {
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                enableDisableViewGroup((ViewGroup) dismissView, true);
+        try {
+            enableDisableViewGroup((ViewGroup) dismissView, false);
+            addPendingDismiss(dismissPosition, dismissView);
+            if (metricsSink != null && !collapseFrames.isRunning()) {
+                collapseStartNanos = System.nanoTime();
+                collapseFrames.start();
             }
-        });
-
-        animator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator valueAnimator) {
-                lp.height = (Integer) valueAnimator.getAnimatedValue();
-                dismissView.setLayoutParams(lp);
+            rowCollapseAnimator.setDuration(animationTime);
+            rowCollapseAnimator.setMode(dismissAnimation);
+            rowCollapseAnimator.collapse(dismissView, doPendingDismiss);
+        } finally {
+            if (trace) {
+                SwipeTrace.end();
             }
-        });
-
-        pendingDismisses.add(new PendingDismissData(dismissPosition, dismissView));
-        animator.start();
+        }
     }
 
     /**
-     * Remove all pending dismisses.
+     * Keep a dismissed position until onDismiss is called
+     *
+     * @param position Position of list
+     * @param view     collapsing row, or null if the item is not visible
      */
-    protected void resetPendingDismisses() {
-        pendingDismisses.clear();
+    private void addPendingDismiss(int position, View view) {
+        ensurePendingCapacity(pendingCount + 1);
+        pendingPositions[pendingCount] = position;
+        pendingViews[pendingCount] = view;
+        pendingCount++;
     }
 
-    /**
-     * Will call {@link #removePendingDismisses(int)} in animationTime + 100 ms.
-     * @param originalHeight will be used to rest the cells height.
-     */
-    protected void handlerPendingDismisses(final int originalHeight) {
-        Handler handler = new Handler();
-        handler.postDelayed(new Runnable() {
-            @Override
-            public void run() {
-                removePendingDismisses(originalHeight);
-            }
-        }, animationTime + 100);
+    private void ensurePendingCapacity(int capacity) {
+        if (capacity > pendingPositions.length) {
+            int size = Math.max(capacity, pendingPositions.length * 2);
+            int[] positions = new int[size];
+            System.arraycopy(pendingPositions, 0, positions, 0, pendingCount);
+            pendingPositions = positions;
+            View[] views = new View[size];
+            System.arraycopy(pendingViews, 0, views, 0, pendingCount);
+            pendingViews = views;
+        }
     }
 
     /**
      * Will delete all pending dismisses.
+     * Will drop the swipe and choice states of the dismissed items, the app must not notify their removal again.
      * Will call callback onDismiss for all pending dismisses.
-     * Will reset all cell height to originalHeight.
-     * @param originalHeight is the height of the cell before animation.
+     * Will reset all cells collapsed by the animation.
      */
-    private void removePendingDismisses(int originalHeight) {
-        // No active animations, process all pending dismisses.
-        // Sort by descending position
-        Collections.sort(pendingDismisses);
-
-        int[] dismissPositions = new int[pendingDismisses.size()];
-        for (int i = pendingDismisses.size() - 1; i >= 0; i--) {
-            dismissPositions[i] = pendingDismisses.get(i).position;
+    private void removePendingDismisses() {
+        int[] dismissPositions;
+        boolean trace = SwipeTrace.isEnabled();
+        if (trace) {
+            SwipeTrace.begin(SwipeTrace.REMOVE_PENDING_DISMISSES);
         }
-        swipeListView.onDismiss(dismissPositions);
-
-        ViewGroup.LayoutParams lp;
-        for (PendingDismissData pendingDismiss : pendingDismisses) {
-            // Reset view presentation
-            if (pendingDismiss.view != null) {
-                setAlpha(pendingDismiss.view, 1f);
-                setTranslationX(pendingDismiss.view, 0);
-                lp = pendingDismiss.view.getLayoutParams();
-                lp.height = originalHeight;
-                pendingDismiss.view.setLayoutParams(lp);
+        try {
+            // No active animations, process all pending dismisses.
+            // Sort once, then reverse into descending position
+            dismissPositions = new int[pendingCount];
+            System.arraycopy(pendingPositions, 0, dismissPositions, 0, pendingCount);
+            Arrays.sort(dismissPositions);
+            for (int i = 0, j = pendingCount - 1; i < j; i++, j--) {
+                int position = dismissPositions[i];
+                dismissPositions[i] = dismissPositions[j];
+                dismissPositions[j] = position;
+            }
+            // Swipe and programmatic dismisses alike, right before the adapter changes so positions still match.
+            // Each run of consecutive positions is removed at once, so the state tail is shifted once per run.
+            int next = 0;
+            while (next < pendingCount) {
+                int runEnd = dismissPositions[next];
+                int runStart = runEnd;
+                next++;
+                while (next < pendingCount && dismissPositions[next] >= runStart - 1) {
+                    runStart = Math.min(runStart, dismissPositions[next]);
+                    next++;
+                }
+                states.remove(runStart, runEnd - runStart + 1);
+            }
+            // Reset view presentation before the adapter changes, rows are laid out again right after
+            for (int i = 0; i < pendingCount; i++) {
+                View view = pendingViews[i];
+                if (view != null) {
+                    animations.setAlpha(view, 1f);
+                    animations.setTranslationX(view, 0);
+                    pendingViews[i] = null;
+                }
+            }
+            pendingCount = 0;
+            rowCollapseAnimator.reset();
+            if (metricsSink != null && collapseFrames.isRunning()) {
+                collapseFrames.stop();
+                boolean sinkTrace = SwipeTrace.isEnabled();
+                if (sinkTrace) {
+                    SwipeTrace.begin(SwipeTrace.METRICS_SINK);
+                }
+                try {
+                    metricsSink.onDismissCollapse(System.nanoTime() - collapseStartNanos,
+                            collapseFrames.getFrames(), collapseFrames.getJankyFrames());
+                } finally {
+                    if (sinkTrace) {
+                        SwipeTrace.end();
+                    }
+                }
+            }
+        } finally {
+            if (trace) {
+                SwipeTrace.end();
             }
         }
-
-        resetPendingDismisses();
-
+        // Outside the section, so the time spent in the listener is not counted as the list's
+        swipeListView.onDismiss(dismissPositions);
     }
 
     public static void enableDisableViewGroup(ViewGroup viewGroup, boolean enabled) {
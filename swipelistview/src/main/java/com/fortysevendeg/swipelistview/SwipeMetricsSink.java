@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+/**
+ * Receives timing measures of the SwipeListView gestures and animations.
+ * All times are in nanoseconds, and every method is called on the main thread.
+ *
+ * @see SwipeListView#setSwipeMetricsSink(SwipeMetricsSink)
+ * @see HistogramSwipeMetricsSink
+ */
+public interface SwipeMetricsSink {
+
+    /**
+     * Called when a swiped row is first moved
+     * @param nanos time from ACTION_DOWN to the first translation of the row
+     */
+    void onSwipeStartLatency(long nanos);
+
+    /**
+     * Called when a swipe ends, once the row has settled
+     * @param frames frames rendered while the row was dragged and settled
+     * @param jankyFrames frames that took longer than one and a half display refresh periods
+     */
+    void onSwipeFrames(int frames, int jankyFrames);
+
+    /**
+     * Called when all running dismiss collapses are over, before onDismiss
+     * @param nanos time from the start of the first collapse to the end of the last one
+     * @param frames frames rendered during the collapse
+     * @param jankyFrames frames that took longer than one and a half display refresh periods
+     */
+    void onDismissCollapse(long nanos, int frames, int jankyFrames);
+
+    /**
+     * Called after each call to the SwipeListViewListener
+     * @param callback name of the listener method, like "onMove"
+     * @param nanos time spent in the listener
+     */
+    void onListenerCallback(String callback, long nanos);
+
+}
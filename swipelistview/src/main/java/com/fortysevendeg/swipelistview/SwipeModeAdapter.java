@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+/**
+ * Optional interface for the adapter of a SwipeListView to give the swipe mode of each row.
+ * The list asks once per gesture, when the row is touched, before asking
+ * {@link SwipeListViewListener#onChangeSwipeMode(int)}.
+ */
+public interface SwipeModeAdapter {
+
+    /**
+     * Get swipe mode of a row. Return SWIPE_MODE_DEFAULT to fall back to
+     * {@link SwipeListViewListener#onChangeSwipeMode(int)}, and then to the list swipe mode
+     * if the listener returns SWIPE_MODE_DEFAULT too
+     *
+     * @param position position in the adapter, not counting header views
+     * @return swipe mode
+     */
+    int getSwipeMode(int position);
+
+}
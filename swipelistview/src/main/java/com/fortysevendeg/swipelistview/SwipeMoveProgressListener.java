@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+/**
+ * Optional interface for a SwipeListViewListener that also wants the move position relative to the opened position.
+ * BaseSwipeListViewListener implements it.
+ */
+public interface SwipeMoveProgressListener extends SwipeListViewListener {
+
+    /**
+     * Called with onMove, with the position relative to the opened position
+     * @param position of the view in the list
+     * @param x Current position X
+     * @param progress x divided by the distance to the opened position, from -1 (left) to 1 (right)
+     */
+    void onMoveProgress(int position, float x, float progress);
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+import android.view.View;
+
+/**
+ * Views of a row, looked up once and kept in a tag of the row view
+ */
+class SwipeRowHolder {
+
+    /**
+     * Front view of the row
+     */
+    final View frontView;
+
+    /**
+     * Back view of the row, null if the list has no back view id
+     */
+    final View backView;
+
+    /**
+     * Constructor
+     *
+     * @param frontView front view
+     * @param backView  back view
+     */
+    SwipeRowHolder(View frontView, View backView) {
+        this.frontView = frontView;
+        this.backView = backView;
+    }
+
+}
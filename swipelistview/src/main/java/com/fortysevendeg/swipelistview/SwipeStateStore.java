@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+/**
+ * Keeps the swipe and choice state of the list rows.
+ * <p/>
+ * Implementations must answer every query in constant time and must not allocate while reading state,
+ * because the touch listener queries them on every touch event.
+ */
+interface SwipeStateStore {
+
+    /**
+     * Get if item is opened
+     *
+     * @param position position in list
+     * @return true if opened
+     */
+    boolean isOpened(int position);
+
+    /**
+     * Get if item was opened toward the right
+     *
+     * @param position position in list
+     * @return true if opened to the right
+     */
+    boolean isOpenedRight(int position);
+
+    /**
+     * Set opened state
+     *
+     * @param position position in list
+     * @param opened   if item is opened
+     */
+    void setOpened(int position, boolean opened);
+
+    /**
+     * Set opening direction
+     *
+     * @param position position in list
+     * @param right    if item is opened toward the right
+     */
+    void setOpenedRight(int position, boolean right);
+
+    /**
+     * Get if item is checked
+     *
+     * @param position position in list
+     * @return true if checked
+     */
+    boolean isChecked(int position);
+
+    /**
+     * Set checked state
+     *
+     * @param position position in list
+     * @param checked  if item is checked
+     */
+    void setChecked(int position, boolean checked);
+
+    /**
+     * Set checked state of a range of items
+     *
+     * @param fromPosition first position
+     * @param toPosition   position after the last one
+     * @param checked      if items are checked
+     */
+    void setChecked(int fromPosition, int toPosition, boolean checked);
+
+    /**
+     * Invert checked state of a range of items
+     *
+     * @param fromPosition first position
+     * @param toPosition   position after the last one
+     */
+    void invertChecked(int fromPosition, int toPosition);
+
+    /**
+     * @return number of checked items
+     */
+    int getCheckedCount();
+
+    /**
+     * Find the next checked item
+     *
+     * @param fromPosition first position to look at
+     * @return next checked position, or -1 if there is none
+     */
+    int nextChecked(int fromPosition);
+
+    /**
+     * @return number of opened items
+     */
+    int getOpenedCount();
+
+    /**
+     * Close every opened item outside a range of positions, in state only. Its time is proportional
+     * to the number of opened items.
+     *
+     * @param fromPosition    first position kept
+     * @param toPosition      last position kept
+     * @param closedPositions receives the positions closed, at least getOpenedCount() long
+     * @return number of positions closed
+     */
+    int closeOpenedOutside(int fromPosition, int toPosition, int[] closedPositions);
+
+    /**
+     * Items were inserted. Items from position on move count positions down.
+     *
+     * @param position first inserted position
+     * @param count    number of inserted items
+     */
+    void insert(int position, int count);
+
+    /**
+     * Items were removed and their state is dropped. Items below them move count positions up.
+     *
+     * @param position first removed position
+     * @param count    number of removed items
+     */
+    void remove(int position, int count);
+
+    /**
+     * Item was moved, keeping its state
+     *
+     * @param fromPosition old position
+     * @param toPosition   new position
+     */
+    void move(int fromPosition, int toPosition);
+
+    /**
+     * Adapter count changed. State of positions past the end is dropped.
+     *
+     * @param count item count
+     */
+    void setCount(int count);
+
+    /**
+     * Forget every state
+     */
+    void clear();
+
+}
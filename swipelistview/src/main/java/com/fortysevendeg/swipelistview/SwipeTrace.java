@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2013 47 Degrees, LLC
+ * http://47deg.com
+ * hello@47deg.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fortysevendeg.swipelistview;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Trace;
+
+/**
+ * Named sections in systrace and Perfetto captures, on API 18 and later.
+ * While tracing is disabled, the default, a section costs a static field read.
+ * Listener callbacks and the metrics sink get sections of their own, named after them,
+ * so the time spent in app code is not read as time spent in the library.
+ */
+@TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+final class SwipeTrace {
+
+    static final String TOUCH_DOWN = "SwipeListView#onTouch:DOWN";
+    static final String TOUCH_MOVE = "SwipeListView#onTouch:MOVE";
+    static final String TOUCH_UP = "SwipeListView#onTouch:UP";
+    static final String TOUCH_OTHER = "SwipeListView#onTouch";
+    static final String MOVE = "SwipeListView#move";
+    static final String PERFORM_DISMISS = "SwipeListView#performDismiss";
+    static final String REMOVE_PENDING_DISMISSES = "SwipeListView#removePendingDismisses";
+    static final String CLOSE_OPENED_ITEMS = "SwipeListView#closeOpenedItems";
+    static final String RESET_ITEMS = "SwipeListView#resetItems";
+    static final String RECYCLE = "SwipeListView#recycle";
+    static final String METRICS_SINK = "SwipeMetricsSink";
+    static final String LISTENER_DISMISS = "SwipeListViewListener#onDismiss";
+    static final String LISTENER_START_OPEN = "SwipeListViewListener#onStartOpen";
+    static final String LISTENER_START_CLOSE = "SwipeListViewListener#onStartClose";
+    static final String LISTENER_CLICK_FRONT_VIEW = "SwipeListViewListener#onClickFrontView";
+    static final String LISTENER_CLICK_BACK_VIEW = "SwipeListViewListener#onClickBackView";
+    static final String LISTENER_OPENED = "SwipeListViewListener#onOpened";
+    static final String LISTENER_CLOSED = "SwipeListViewListener#onClosed";
+    static final String LISTENER_CHOICE_CHANGED = "SwipeListViewListener#onChoiceChanged";
+    static final String LISTENER_CHOICES_CHANGED = "SwipeListViewListener#onChoicesChanged";
+    static final String LISTENER_CHOICE_STARTED = "SwipeListViewListener#onChoiceStarted";
+    static final String LISTENER_CHOICE_ENDED = "SwipeListViewListener#onChoiceEnded";
+    static final String LISTENER_FIRST_LIST_ITEM = "SwipeListViewListener#onFirstListItem";
+    static final String LISTENER_LAST_LIST_ITEM = "SwipeListViewListener#onLastListItem";
+    static final String LISTENER_LIST_CHANGED = "SwipeListViewListener#onListChanged";
+    static final String LISTENER_MOVE = "SwipeListViewListener#onMove";
+    static final String LISTENER_MOVE_PROGRESS = "SwipeListViewListener#onMoveProgress";
+    static final String LISTENER_CHANGE_SWIPE_MODE = "SwipeListViewListener#onChangeSwipeMode";
+
+    private static boolean enabled;
+
+    private SwipeTrace() {
+    }
+
+    /**
+     * Enable or disable the sections. Ignored before API 18.
+     *
+     * @param enabled true to trace
+     */
+    static void setEnabled(boolean enabled) {
+        SwipeTrace.enabled = enabled && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2;
+    }
+
+    /**
+     * @return true if sections are traced. Callers keep the value to end the section they began.
+     */
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Begin a section, only call it when {@link #isEnabled()}
+     *
+     * @param name section name
+     */
+    static void begin(String name) {
+        Trace.beginSection(name);
+    }
+
+    /**
+     * End the last section begun on this thread
+     */
+    static void end() {
+        Trace.endSection();
+    }
+
+}